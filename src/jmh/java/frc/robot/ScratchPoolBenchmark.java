@@ -0,0 +1,35 @@
+package frc.robot;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+
+// jmhCheck fails if any of these allocate, which is the point of the pool.
+@State(Scope.Thread)
+public class ScratchPoolBenchmark {
+
+	@Benchmark
+	public void reserveRelease(Blackhole blackhole) {
+		double[] array = ScratchPool.reserve(4);
+		array[0] = 1;
+		blackhole.consume(array);
+		ScratchPool.release(array);
+	}
+
+	@Benchmark
+	public void reserveReleaseNested(Blackhole blackhole) {
+		double[] first = ScratchPool.reserve(4);
+		double[] second = ScratchPool.reserve(4);
+		double[] third = ScratchPool.reserve(6);
+		double[] fourth = ScratchPool.reserve(2);
+		blackhole.consume(first);
+		blackhole.consume(second);
+		blackhole.consume(third);
+		blackhole.consume(fourth);
+		ScratchPool.release(fourth);
+		ScratchPool.release(third);
+		ScratchPool.release(second);
+		ScratchPool.release(first);
+	}
+}
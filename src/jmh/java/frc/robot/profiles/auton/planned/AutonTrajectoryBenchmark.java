@@ -0,0 +1,79 @@
+package frc.robot.profiles.auton.planned;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+
+import frc.robot.config.TrajectoryConfig;
+import frc.robot.profiles.auton.planned.AutonPlan.AutonPlanPoint;
+import frc.robot.profiles.auton.planned.AutonPlan.AutonStartPoint;
+
+// Sampling runs every loop in auton and must not depend on the length of the plan.
+// Generating is only done at startup but shouldn't noticeably slow it down.
+@State(Scope.Thread)
+public class AutonTrajectoryBenchmark {
+
+	public static final double PERIOD = 0.02;
+
+	private AutonPlan plan;
+	private TrajectoryConfig config;
+	private AutonTrajectory trajectory;
+	private final AutonTrajectoryState state = new AutonTrajectoryState();
+	private double time = 0;
+
+	@Setup(Level.Trial)
+	public void setup() {
+		// The five ball plan.
+		plan = new AutonPlan();
+		plan.start = new AutonStartPoint();
+		plan.start.x = 48.462;
+		plan.start.y = -18.603;
+		plan.start.angle = 0.3083;
+		plan.points = new AutonPlanPoint[] {
+			point(133, -24.7, 0.2569, 0.5, 0.2, false),
+			point(133, -24.7, 0.7639, 0, 0.5, true),
+			point(78, -146.1, 0.5558, 0.7, 0.35, false),
+			point(78, -146.1, 0.875, 0, 0.5, true),
+			point(90, -253.2, 0.3785, 0.8, 0.4, false),
+			point(106.2, -270.8, 0.3785, 0.3, 0, true),
+			point(85.2, -174.3, 0.9255, 1, 0.25, true)
+		};
+
+		config = new TrajectoryConfig();
+		config.maxSpeed = 160;
+		config.maxAccel = 200;
+		config.maxCentripetalAccel = 150;
+		config.turnRadius = 16.62;
+		trajectory = AutonTrajectory.generate(plan, config, PERIOD);
+	}
+
+	private static AutonPlanPoint point(double x, double y, double angle, double linearCruise,
+										double rotateCruise, boolean stop) {
+		AutonPlanPoint point = new AutonPlanPoint();
+		point.x = x;
+		point.y = y;
+		point.angle = angle;
+		point.linearCruise = linearCruise;
+		point.rotateCruise = rotateCruise;
+		point.stop = stop;
+		return point;
+	}
+
+	@Benchmark
+	public void sample(Blackhole blackhole) {
+		time += PERIOD * 0.37;
+		if (time > trajectory.getTotalTime())
+			time = 0;
+		trajectory.sample(time, state);
+		blackhole.consume(state.x);
+		blackhole.consume(state.angularVelocity);
+	}
+
+	@Benchmark
+	public AutonTrajectory generate() {
+		return AutonTrajectory.generate(plan, config, PERIOD);
+	}
+}
@@ -0,0 +1,139 @@
+package frc.robot.profiles.auton.steps;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+
+import frc.robot.LoopClock;
+import frc.robot.config.TrajectoryConfig;
+import frc.robot.profiles.auton.planned.AutonPlan;
+import frc.robot.profiles.auton.planned.AutonPlan.AutonPlanPoint;
+import frc.robot.profiles.auton.planned.AutonPlan.AutonPlanStep;
+import frc.robot.profiles.auton.planned.AutonPlan.AutonStartPoint;
+import frc.robot.profiles.auton.planned.AutonTrajectory;
+import frc.robot.swerve.RobotPose;
+import frc.robot.telemetry.FakeTelemetryTable;
+import frc.robot.vision.IBallVision;
+
+// One auton loop with the step sequence running. The robot is put on its current point
+// every loop so the sequence keeps moving through its steps, and starts over when it
+// finishes.
+@State(Scope.Thread)
+public class SequencedAutonProfileBenchmark {
+
+	public static final double PERIOD = 0.02;
+
+	private final LoopClock clock = new LoopClock(PERIOD);
+	private final RobotPose pose = new RobotPose();
+	private AutonPlan plan;
+	private SequencedAutonProfile profile;
+	private long nanos = 0;
+	private int loops = 0;
+
+	@Setup(Level.Trial)
+	public void setup() {
+		plan = new AutonPlan();
+		plan.start = new AutonStartPoint();
+		plan.start.x = 48.462;
+		plan.start.y = -18.603;
+		plan.start.angle = 0.3083;
+		plan.points = new AutonPlanPoint[] {
+			point(133, -24.7, 0.2569, 0.5, 0.2, false),
+			point(133, -24.7, 0.7639, 0, 0.5, true),
+			point(78, -146.1, 0.5558, 0.7, 0.35, true)
+		};
+
+		AutonPlanStep drive = step("drive");
+		drive.point = 1;
+		drive.position = 2;
+		drive.angle = 0.125;
+		AutonPlanStep wait = step("wait");
+		wait.time = 0.5;
+		AutonPlanStep parallel = step("parallel");
+		parallel.steps = new AutonPlanStep[] { drive, wait };
+		AutonPlanStep pickup = step("pickup");
+		pickup.position = 2;
+		pickup.angle = 0.125;
+		pickup.time = 0.5;
+		AutonPlanStep fire = step("fire");
+		fire.time = 0.5;
+		AutonPlanStep driveToPickup = step("drive");
+		driveToPickup.point = 2;
+		plan.sequence = step("sequence");
+		plan.sequence.steps = new AutonPlanStep[] {
+			step("spinup"), parallel, fire, driveToPickup, pickup, step("stop")
+		};
+
+		TrajectoryConfig config = new TrajectoryConfig();
+		config.maxSpeed = 160;
+		config.maxAccel = 200;
+		config.maxCentripetalAccel = 150;
+		config.turnRadius = 16.62;
+		config.positionGain = 2;
+		config.angleGain = 2;
+		profile = new SequencedAutonProfile(clock, pose, AutonTrajectory.generate(plan, config, PERIOD),
+											new IBallVision() {
+												@Override
+												public void setActive(boolean active) {}
+
+												@Override
+												public boolean hasTarget() {
+													return (loops & 1) == 0;
+												}
+
+												@Override
+												public boolean hasFrame() {
+													return true;
+												}
+
+												@Override
+												public double getCorrection() {
+													return 0.1;
+												}
+
+												@Override
+												public double getAge() {
+													return 0;
+												}
+											});
+		profile.setTelemetry(new FakeTelemetryTable());
+	}
+
+	private static AutonPlanPoint point(double x, double y, double angle, double linearCruise,
+										double rotateCruise, boolean stop) {
+		AutonPlanPoint point = new AutonPlanPoint();
+		point.x = x;
+		point.y = y;
+		point.angle = angle;
+		point.linearCruise = linearCruise;
+		point.rotateCruise = rotateCruise;
+		point.stop = stop;
+		return point;
+	}
+
+	private static AutonPlanStep step(String type) {
+		AutonPlanStep step = new AutonPlanStep();
+		step.type = type;
+		return step;
+	}
+
+	@Benchmark
+	public void update(Blackhole blackhole) {
+		nanos += (long) (PERIOD * 1e9);
+		clock.update(nanos);
+		loops++;
+
+		AutonPlanPoint point = plan.points[profile.getPoint()];
+		profile.update();
+		pose.x = point.x;
+		pose.y = point.y;
+		pose.angle = point.angle;
+		if (profile.isFinished())
+			profile.reset();
+		blackhole.consume(profile.getSwerveLinearSpeed());
+		blackhole.consume(profile.getShooterFire());
+	}
+}
@@ -0,0 +1,45 @@
+package frc.robot.shooter;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import frc.robot.config.ShooterVisionConfig.ShooterVisionPoint;
+
+// Lookups should cost the same with the handful of points we have now as with a densely
+// calibrated table.
+@State(Scope.Thread)
+public class ShooterMapBenchmark {
+
+	@Param({ "9", "400" })
+	public int points;
+
+	private ShooterMap map;
+	private final double[] speeds = new double[2];
+	private double distance = 0;
+
+	@Setup(Level.Trial)
+	public void setup() {
+		ShooterVisionPoint[] table = new ShooterVisionPoint[points];
+		for (int i = 0; i < points; i++) {
+			ShooterVisionPoint point = new ShooterVisionPoint();
+			point.distance = 9 + 12.0 * i / (points - 1);
+			point.topSpeed = 7400 + point.distance * point.distance * 30;
+			point.bottomSpeed = 9300 + point.distance * 150;
+			table[i] = point;
+		}
+		map = new ShooterMap(table);
+	}
+
+	@Benchmark
+	public double[] lookup() {
+		distance += 0.37;
+		if (distance > 14)
+			distance -= 14;
+		map.lookup(8 + distance, speeds);
+		return speeds;
+	}
+}
@@ -0,0 +1,122 @@
+package frc.robot.shooter;
+
+import java.util.Random;
+
+import com.ctre.phoenix.motorcontrol.can.SlotConfiguration;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+
+import frc.robot.LoopClock;
+import frc.robot.config.ShooterVisionConfig;
+import frc.robot.config.ShooterVisionConfig.ShooterVisionPoint;
+import frc.robot.swerve.RobotPose;
+import frc.robot.telemetry.DoublePublisher;
+import frc.robot.telemetry.FakeTelemetryTable;
+
+// Replays Limelight frames with zero to three contours. jmhCheck fails if a tick allocates,
+// which covers the entry lookups and the contour list.
+@State(Scope.Thread)
+public class ShooterVisionBenchmark {
+
+	public static final int FRAMES = 256;
+	public static final double PERIOD = 0.02;
+
+	private final double[][] frames = new double[FRAMES][];
+	private int index = 0;
+
+	// Writers for the Limelight's side of the table, resolved up front like the reads.
+	private DoublePublisher latency;
+	private DoublePublisher valid;
+	private final DoublePublisher[] areas = new DoublePublisher[ShooterVision.MAX_CONTOURS];
+	private final DoublePublisher[] xs = new DoublePublisher[ShooterVision.MAX_CONTOURS];
+	private final DoublePublisher[] ys = new DoublePublisher[ShooterVision.MAX_CONTOURS];
+
+	private final RobotPose pose = new RobotPose();
+	private LoopClock clock;
+	private long nanos = 0;
+	private ShooterVision vision;
+
+	@Setup(Level.Trial)
+	public void setup() {
+		Random random = new Random(201);
+		for (int i = 0; i < FRAMES; i++) {
+			int count = random.nextInt(4);
+			double[] frame = new double[count * 2];
+			double x = random.nextDouble() - 0.5;
+			double y = random.nextDouble() - 0.25;
+			for (int j = 0; j < count; j++) {
+				frame[j * 2] = x + (j - 1) * 0.1;
+				frame[j * 2 + 1] = y + (j == 1 ? 0.02 : 0);
+			}
+			frames[i] = frame;
+		}
+
+		FakeTelemetryTable limelight = new FakeTelemetryTable();
+		latency = limelight.getDoublePublisher("tl");
+		valid = limelight.getDoublePublisher("tv");
+		for (int i = 0; i < ShooterVision.MAX_CONTOURS; i++) {
+			areas[i] = limelight.getDoublePublisher("ta" + i);
+			xs[i] = limelight.getDoublePublisher("tx" + i);
+			ys[i] = limelight.getDoublePublisher("ty" + i);
+		}
+
+		clock = new LoopClock(PERIOD);
+		clock.update(nanos);
+		// Strafing at about 8 ft/s, so the shot is led.
+		pose.linearAngle = 0.25;
+		pose.linearSpeed = 2;
+		vision = new ShooterVision(limelight, pose, clock, createConfig());
+		vision.setActive(true);
+	}
+
+	public static ShooterVisionConfig createConfig() {
+		ShooterVisionConfig config = new ShooterVisionConfig();
+		config.pid = new SlotConfiguration();
+		config.pid.kP = 0.38;
+		config.pid.kD = 0.02;
+		config.a = -10.9;
+		config.b = 17.8;
+		config.c = -18.5;
+		config.d = 16.3;
+		config.speedFactor = 1;
+		config.flightTimeBase = 0.7;
+		config.flightTimeSlope = 0.03;
+		config.trackerProcessNoise = 1;
+		config.trackerMeasurementNoise = 0.0001;
+		config.trackerCoastTime = 0.3;
+		config.points = new ShooterVisionPoint[8];
+		for (int i = 0; i < config.points.length; i++) {
+			ShooterVisionPoint point = new ShooterVisionPoint();
+			point.distance = 9 + i;
+			point.topSpeed = 7400 + i * 500;
+			point.bottomSpeed = 9300 + i * 300;
+			config.points[i] = point;
+		}
+		return config;
+	}
+
+	@Benchmark
+	public void tick(Blackhole blackhole) {
+		index = (index + 1) & (FRAMES - 1);
+		double[] frame = frames[index];
+		int count = frame.length / 2;
+		latency.set(20 + index % 7);
+		valid.set(count > 0 ? 1 : 0);
+		for (int i = 0; i < ShooterVision.MAX_CONTOURS; i++) {
+			areas[i].set(i < count ? 0.1 : 0);
+			xs[i].set(i < count ? frame[i * 2] : 0);
+			ys[i].set(i < count ? frame[i * 2 + 1] : 0);
+		}
+
+		nanos += (long) (PERIOD * 1e9);
+		clock.update(nanos);
+		vision.tick();
+		blackhole.consume(vision.getTarget());
+		blackhole.consume(vision.getShooterSpeeds());
+	}
+}
@@ -0,0 +1,92 @@
+package frc.robot.sim;
+
+import java.util.Random;
+
+import com.ctre.phoenix.motorcontrol.can.SlotConfiguration;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+
+import frc.robot.LoopClock;
+import frc.robot.config.SwerveDriveConfig;
+import frc.robot.io.FakeGyro;
+import frc.robot.io.FakeMotorController;
+import frc.robot.swerve.FourCornerSwerveDrive;
+import frc.robot.swerve.FourCornerSwerveDriveBenchmark;
+import frc.robot.swerve.ISwerveModule;
+import frc.robot.swerve.RobotPose;
+import frc.robot.swerve.SDSMk4FXModule;
+
+// One robot loop of simulated time per operation, the real drive code against the physics.
+// A loop is 20 ms, so 20000 ns per operation is a thousand times faster than real time.
+@State(Scope.Thread)
+public class SwerveDriveSimulationBenchmark {
+
+	public static final int INPUTS = 1024;
+	public static final double PERIOD = 0.02;
+	// Commands are held for a while so the robot actually gets moving.
+	public static final int HOLD = 50;
+
+	private final double[] linearAngles = new double[INPUTS];
+	private final double[] linearSpeeds = new double[INPUTS];
+	private final double[] rotates = new double[INPUTS];
+	private int index = 0;
+	private int held = 0;
+
+	private RobotPose pose;
+	private LoopClock clock;
+	private long nanos = 0;
+	private FourCornerSwerveDrive drive;
+	private SwerveDriveSimulation simulation;
+
+	@Setup(Level.Trial)
+	public void setup() {
+		Random random = new Random(201);
+		for (int i = 0; i < INPUTS; i++) {
+			linearAngles[i] = random.nextDouble();
+			linearSpeeds[i] = random.nextDouble();
+			rotates[i] = random.nextDouble() - 0.5;
+		}
+
+		SwerveDriveConfig config = FourCornerSwerveDriveBenchmark.createConfig();
+		config.moduleConfig.pid = new SlotConfiguration();
+		config.moduleConfig.pid.kP = 0.1;
+		config.moduleConfig.reverseThreshold = 0.3;
+
+		pose = new RobotPose();
+		clock = new LoopClock(PERIOD);
+		clock.update(nanos);
+
+		FakeMotorController[] motors = new FakeMotorController[8];
+		ISwerveModule[] modules = new ISwerveModule[4];
+		for (int i = 0; i < modules.length; i++) {
+			motors[i * 2] = new FakeMotorController();
+			motors[i * 2 + 1] = new FakeMotorController();
+			modules[i] = new SDSMk4FXModule(motors[i * 2], motors[i * 2 + 1], 0, 0, clock,
+											config.moduleConfig);
+		}
+		FakeGyro gyro = new FakeGyro();
+		drive = new FourCornerSwerveDrive(modules[0], modules[1], modules[2], modules[3],
+											gyro, pose, clock, config);
+		simulation = new SwerveDriveSimulation(motors, gyro, new SwervePhysics(), config);
+	}
+
+	@Benchmark
+	public void loop(Blackhole blackhole) {
+		if (++held == HOLD) {
+			held = 0;
+			index = (index + 1) & (INPUTS - 1);
+		}
+		drive.setTargetVelocity(linearAngles[index], linearSpeeds[index], rotates[index]);
+		nanos += (long) (PERIOD * 1e9);
+		clock.update(nanos);
+		drive.tick();
+		simulation.step(PERIOD);
+		blackhole.consume(simulation.getX());
+		blackhole.consume(pose.x);
+	}
+}
@@ -0,0 +1,108 @@
+package frc.robot.swerve;
+
+import java.util.Random;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+
+import frc.robot.LoopClock;
+import frc.robot.config.SwerveDriveConfig;
+import frc.robot.config.SwerveModuleConfig;
+import frc.robot.io.FakeGyro;
+
+@State(Scope.Thread)
+public class FourCornerSwerveDriveBenchmark {
+
+	// Inputs are cycled so the JIT can't constant fold a single drive command.
+	public static final int INPUTS = 1024;
+	public static final double PERIOD = 0.02;
+
+	private final double[] linearAngles = new double[INPUTS];
+	private final double[] linearSpeeds = new double[INPUTS];
+	private final double[] rotates = new double[INPUTS];
+	private int index = 0;
+
+	private final SwerveKinematics kinematics = new SwerveKinematics();
+
+	private StubSwerveModule frontLeft;
+	private StubSwerveModule frontRight;
+	private StubSwerveModule backLeft;
+	private StubSwerveModule backRight;
+	private FakeGyro gyro;
+	private RobotPose pose;
+	private LoopClock clock;
+	private long nanos = 0;
+	private FourCornerSwerveDrive drive;
+
+	@Setup(Level.Trial)
+	public void setup() {
+		Random random = new Random(201);
+		for (int i = 0; i < INPUTS; i++) {
+			linearAngles[i] = random.nextDouble();
+			linearSpeeds[i] = random.nextDouble();
+			rotates[i] = random.nextDouble() - 0.5;
+		}
+
+		SwerveDriveConfig config = createConfig();
+		double moduleX = config.width / 2;
+		double moduleY = config.length / 2;
+
+		double divisor = Math.sqrt(moduleX * moduleX + moduleY * moduleY);
+		kinematics.setModulePosition(FourCornerSwerveDrive.FRONT_LEFT, -moduleX / divisor, moduleY / divisor);
+		kinematics.setModulePosition(FourCornerSwerveDrive.FRONT_RIGHT, moduleX / divisor, moduleY / divisor);
+		kinematics.setModulePosition(FourCornerSwerveDrive.BACK_LEFT, -moduleX / divisor, -moduleY / divisor);
+		kinematics.setModulePosition(FourCornerSwerveDrive.BACK_RIGHT, moduleX / divisor, -moduleY / divisor);
+
+		frontLeft = new StubSwerveModule();
+		frontRight = new StubSwerveModule();
+		backLeft = new StubSwerveModule();
+		backRight = new StubSwerveModule();
+		gyro = new FakeGyro();
+		pose = new RobotPose();
+		clock = new LoopClock(PERIOD);
+		clock.update(nanos);
+		drive = new FourCornerSwerveDrive(frontLeft, frontRight, backLeft, backRight,
+											gyro, pose, clock, config);
+	}
+
+	public static SwerveDriveConfig createConfig() {
+		SwerveDriveConfig config = new SwerveDriveConfig();
+		config.moduleConfig = new SwerveModuleConfig();
+		config.gyroFactor = 0.03;
+		config.width = 23.5;
+		config.length = 23.5;
+		config.wheelDistance = 12.56637061;
+		config.maxLinearAccel = 2;
+		config.maxRotateAccel = 2;
+		return config;
+	}
+
+	private int next() {
+		index = (index + 1) & (INPUTS - 1);
+		return index;
+	}
+
+	@Benchmark
+	public void solveModuleVelocities(Blackhole blackhole) {
+		int i = next();
+		kinematics.solve(linearAngles[i], linearSpeeds[i], rotates[i]);
+		blackhole.consume(kinematics.angle);
+		blackhole.consume(kinematics.speed);
+	}
+
+	@Benchmark
+	public void tick(Blackhole blackhole) {
+		int i = next();
+		drive.setTargetVelocity(linearAngles[i], linearSpeeds[i], rotates[i]);
+		gyro.addYaw(rotates[i]);
+		nanos += (long) (PERIOD * 1e9);
+		clock.update(nanos);
+		drive.tick();
+		blackhole.consume(pose.x);
+		blackhole.consume(pose.y);
+	}
+}
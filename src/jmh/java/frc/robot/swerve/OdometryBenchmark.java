@@ -0,0 +1,108 @@
+package frc.robot.swerve;
+
+import java.util.Random;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+
+import frc.robot.config.SwerveDriveConfig;
+
+// Compares the old pairwise zero velocity center odometry against the least squares
+// solve on the same module readings, each a robot translating and rotating at once.
+@State(Scope.Thread)
+public class OdometryBenchmark {
+
+	public static final int INPUTS = 1024;
+	public static final double PERIOD = 0.02;
+
+	private final double[][] angles = new double[INPUTS][SwerveOdometry.MODULES];
+	private final double[][] speeds = new double[INPUTS][SwerveOdometry.MODULES];
+	private final double[] yawDiffs = new double[INPUTS];
+	private int index = 0;
+
+	private final double[] output = new double[6];
+
+	private StubSwerveModule[] modules;
+	private RobotPose pairwisePose;
+	private PairwiseOdometry pairwise;
+	private SwerveOdometry leastSquares;
+
+	private double moduleX;
+	private double moduleY;
+	private double wheelDistance;
+
+	@Setup(Level.Trial)
+	public void setup() {
+		SwerveDriveConfig config = FourCornerSwerveDriveBenchmark.createConfig();
+		moduleX = config.width / 2;
+		moduleY = config.length / 2;
+		wheelDistance = config.wheelDistance;
+		double[] positionX = { -moduleX, moduleX, -moduleX, moduleX };
+		double[] positionY = { moduleY, moduleY, -moduleY, -moduleY };
+
+		Random random = new Random(201);
+		for (int i = 0; i < INPUTS; i++) {
+			// Inches per second and radians per second, clockwise positive.
+			double vx = (random.nextDouble() - 0.5) * 120;
+			double vy = (random.nextDouble() - 0.5) * 120;
+			double rotate = (random.nextDouble() - 0.5) * 8;
+			for (int j = 0; j < SwerveOdometry.MODULES; j++) {
+				double x = vx + rotate * positionY[j];
+				double y = vy - rotate * positionX[j];
+				angles[i][j] = ((Math.atan2(x, y) / Math.PI / 2) % 1 + 1) % 1;
+				speeds[i][j] = Math.sqrt(x * x + y * y) / wheelDistance;
+			}
+			yawDiffs[i] = rotate * PERIOD / Math.PI / 2;
+		}
+
+		modules = new StubSwerveModule[SwerveOdometry.MODULES];
+		for (int j = 0; j < SwerveOdometry.MODULES; j++)
+			modules[j] = new StubSwerveModule();
+		pairwisePose = new RobotPose();
+		pairwise = new PairwiseOdometry(modules[0], modules[1], modules[2], modules[3],
+										pairwisePose, moduleX, moduleY, wheelDistance);
+
+		leastSquares = new SwerveOdometry();
+		for (int j = 0; j < SwerveOdometry.MODULES; j++)
+			leastSquares.setModulePosition(j, positionX[j], positionY[j]);
+	}
+
+	private int next() {
+		index = (index + 1) & (INPUTS - 1);
+		for (int j = 0; j < SwerveOdometry.MODULES; j++)
+			modules[j].setCurrentVelocity(angles[index][j], speeds[index][j]);
+		return index;
+	}
+
+	@Benchmark
+	public void calculateZeroVelocityCenter(Blackhole blackhole) {
+		next();
+		PairwiseOdometry.calculateZeroVelocityCenter(modules[0], -moduleX, moduleY,
+														modules[1], moduleX, moduleY, output);
+		blackhole.consume(output);
+	}
+
+	@Benchmark
+	public void pairwise(Blackhole blackhole) {
+		int i = next();
+		pairwise.update(PERIOD, yawDiffs[i]);
+		blackhole.consume(pairwisePose.x);
+		blackhole.consume(pairwisePose.y);
+	}
+
+	@Benchmark
+	public void leastSquares(Blackhole blackhole) {
+		int i = next();
+		for (int j = 0; j < SwerveOdometry.MODULES; j++)
+			leastSquares.setModuleVelocity(j, modules[j].getCurrentAngle(),
+											modules[j].getCurrentSpeed() * wheelDistance);
+		leastSquares.solve();
+		leastSquares.integrate(PERIOD, yawDiffs[i]);
+		blackhole.consume(leastSquares.dx);
+		blackhole.consume(leastSquares.dy);
+	}
+}
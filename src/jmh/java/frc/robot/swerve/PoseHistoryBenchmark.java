@@ -0,0 +1,61 @@
+package frc.robot.swerve;
+
+import java.util.Random;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+
+// Lookup should stay roughly flat from one second of history to over a minute.
+@State(Scope.Thread)
+public class PoseHistoryBenchmark {
+
+	public static final int QUERIES = 1024;
+	public static final double PERIOD = 0.02;
+
+	@Param({ "64", "256", "1024", "4096" })
+	public int capacity;
+
+	private PoseHistory history;
+	private final RobotPose pose = new RobotPose();
+	private final RobotPose output = new RobotPose();
+	private final double[] queries = new double[QUERIES];
+	private int index = 0;
+	private double time;
+
+	@Setup(Level.Trial)
+	public void setup() {
+		history = new PoseHistory(capacity);
+		Random random = new Random(201);
+		// Wrap around more than once so the oldest sample is not at index 0.
+		time = 0;
+		for (int i = 0; i < capacity * 2 + capacity / 3; i++) {
+			time += PERIOD;
+			pose.x += random.nextDouble();
+			pose.y += random.nextDouble();
+			pose.angle += random.nextDouble() * 0.01;
+			history.add(time, pose);
+		}
+		double oldest = history.getOldestTime();
+		double span = history.getNewestTime() - oldest;
+		for (int i = 0; i < QUERIES; i++)
+			queries[i] = oldest + random.nextDouble() * span;
+	}
+
+	@Benchmark
+	public void get(Blackhole blackhole) {
+		index = (index + 1) & (QUERIES - 1);
+		blackhole.consume(history.get(queries[index], output));
+		blackhole.consume(output.x);
+	}
+
+	@Benchmark
+	public void add() {
+		time += PERIOD;
+		history.add(time, pose);
+	}
+}
@@ -0,0 +1,73 @@
+package frc.robot.swerve;
+
+import frc.robot.config.SwerveModuleConfig;
+
+// An ideal module that instantly reaches whatever it was last told to do.
+public class StubSwerveModule implements ISwerveModule {
+
+	private double angleOffset = 0;
+	private double targetAngle = 0;
+	private double targetSpeed = 0;
+	private double currentAngle = 0;
+	private double currentSpeed = 0;
+
+	@Override
+	public void setTargetVelocity(double angle, double speed) {
+		targetAngle = (angle % 1 + 1) % 1;
+		targetSpeed = speed;
+	}
+
+	@Override
+	public void tick() {
+		currentAngle = targetAngle;
+		currentSpeed = targetSpeed;
+	}
+
+	public void setCurrentVelocity(double angle, double speed) {
+		currentAngle = (angle % 1 + 1) % 1;
+		currentSpeed = speed;
+	}
+
+	@Override
+	public double getAngleOffset() {
+		return angleOffset;
+	}
+
+	@Override
+	public void setAngleOffsetAbsolute(double offset) {
+		angleOffset = (offset % 1 + 1) % 1;
+	}
+
+	@Override
+	public void setAngleOffsetRelative(double offset) {
+		angleOffset = ((angleOffset + offset) % 1 + 1) % 1;
+	}
+
+	@Override
+	public void align() {
+		angleOffset = 0;
+	}
+
+	@Override
+	public void configure(SwerveModuleConfig config) {}
+
+	@Override
+	public double getTargetAngle() {
+		return targetAngle;
+	}
+
+	@Override
+	public double getTargetSpeed() {
+		return targetSpeed;
+	}
+
+	@Override
+	public double getCurrentAngle() {
+		return currentAngle;
+	}
+
+	@Override
+	public double getCurrentSpeed() {
+		return currentSpeed;
+	}
+}
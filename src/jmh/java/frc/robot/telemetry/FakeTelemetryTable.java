@@ -0,0 +1,47 @@
+package frc.robot.telemetry;
+
+import java.util.HashMap;
+import java.util.Map;
+
+// In memory table for benchmarks, where the NetworkTables natives aren't loaded. Each name
+// maps to a one element array that its handles read and write directly.
+public class FakeTelemetryTable implements ITelemetryTable {
+
+	private final Map<String, double[]> values = new HashMap<>();
+	private final Map<String, FakeTelemetryTable> subTables = new HashMap<>();
+
+	public void setDouble(String name, double value) {
+		slot(name, 0)[0] = value;
+	}
+
+	public double getDouble(String name) {
+		return slot(name, 0)[0];
+	}
+
+	@Override
+	public FakeTelemetryTable getSubTable(String name) {
+		return subTables.computeIfAbsent(name, key -> new FakeTelemetryTable());
+	}
+
+	@Override
+	public DoublePublisher getDoublePublisher(String name) {
+		double[] slot = slot(name, 0);
+		return value -> slot[0] = value;
+	}
+
+	@Override
+	public BooleanPublisher getBooleanPublisher(String name) {
+		double[] slot = slot(name, 0);
+		return value -> slot[0] = value ? 1 : 0;
+	}
+
+	@Override
+	public DoubleSubscriber getDoubleSubscriber(String name, double defaultValue) {
+		double[] slot = slot(name, defaultValue);
+		return () -> slot[0];
+	}
+
+	private double[] slot(String name, double defaultValue) {
+		return values.computeIfAbsent(name, key -> new double[] { defaultValue });
+	}
+}
@@ -0,0 +1,34 @@
+package frc.robot.telemetry;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+// One op is a loop with a handful of sections, including the periodic publish.
+@State(Scope.Thread)
+public class LoopProfilerBenchmark {
+
+	public static final int SECTIONS = 8;
+
+	private LoopProfiler profiler;
+	private final int[] sections = new int[SECTIONS];
+	private long nanos = 0;
+
+	@Setup(Level.Trial)
+	public void setup() {
+		profiler = new LoopProfiler(new FakeTelemetryTable(), 50);
+		for (int i = 0; i < SECTIONS; i++)
+			sections[i] = profiler.add("section" + i);
+	}
+
+	@Benchmark
+	public void loop() {
+		for (int i = 0; i < SECTIONS; i++) {
+			nanos = nanos * 6364136223846793005L + 1442695040888963407L;
+			profiler.record(sections[i], (nanos >>> 44) + 1000);
+		}
+		profiler.tick();
+	}
+}
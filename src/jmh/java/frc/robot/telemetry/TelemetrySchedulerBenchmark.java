@@ -0,0 +1,46 @@
+package frc.robot.telemetry;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+
+// One op stages every channel and flushes, the same as a robot loop.
+@State(Scope.Thread)
+public class TelemetrySchedulerBenchmark {
+
+	public static final int CHANNELS = 16;
+	public static final double PERIOD = 0.02;
+
+	private TelemetryScheduler scheduler;
+	private final int[] channels = new int[CHANNELS];
+	private int batches = 0;
+	private double value = 0;
+
+	@Setup(Level.Trial)
+	public void setup() {
+		FakeTelemetryTable table = new FakeTelemetryTable();
+		scheduler = new TelemetryScheduler(PERIOD, () -> batches++);
+		for (int i = 0; i < CHANNELS; i++) {
+			if (i % 4 == 3)
+				channels[i] = scheduler.addBoolean(table.getBooleanPublisher("b" + i), 2);
+			else
+				channels[i] = scheduler.addDouble(table.getDoublePublisher("d" + i), 25, 0.1);
+		}
+	}
+
+	@Benchmark
+	public void loop(Blackhole blackhole) {
+		value += 0.07;
+		for (int i = 0; i < CHANNELS; i++) {
+			if (i % 4 == 3)
+				scheduler.set(channels[i], (i & 1) == 0);
+			else
+				scheduler.set(channels[i], value + i);
+		}
+		scheduler.flush();
+		blackhole.consume(batches);
+	}
+}
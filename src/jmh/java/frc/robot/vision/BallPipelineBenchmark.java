@@ -0,0 +1,167 @@
+package frc.robot.vision;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import org.opencv.core.Core;
+import org.opencv.core.CvType;
+import org.opencv.core.Mat;
+import org.opencv.core.Point;
+import org.opencv.core.Scalar;
+import org.opencv.core.Size;
+import org.opencv.imgcodecs.Imgcodecs;
+import org.opencv.imgproc.Imgproc;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.infra.Blackhole;
+
+// The ball pipelines against the GRIP ones they replaced, over the same frames. Frames are
+// read from the directory in the ballframes property, for example images saved off the
+// intake camera stream, and scaled to the camera size. Without it, frames with a few balls
+// rolling across a noisy background are drawn instead. Setup fails if the masks differ
+// from GRIP's on any frame, so this is also the regression check for pipeline changes.
+//   ./gradlew jmh -PjmhInclude=BallPipeline -PjmhBallFrames=/path/to/frames
+@State(Scope.Thread)
+public class BallPipelineBenchmark {
+
+	public static final int WIDTH = 320;
+	public static final int HEIGHT = 240;
+	public static final int FRAMES = 32;
+
+	private static final Scalar RED = new Scalar(30, 20, 200);
+	private static final Scalar BLUE = new Scalar(200, 90, 20);
+
+	@Param({ "red", "blue" })
+	public String alliance;
+
+	private Mat[] frames;
+	private int frame = 0;
+	private BallPipeline pipeline;
+	private BallDetector detector;
+	private GripRedBallPipeline gripRed;
+	private GripBlueBallPipeline gripBlue;
+
+	@Setup(Level.Trial)
+	public void setup() {
+		String directory = System.getProperty("ballframes", "");
+		frames = directory.isEmpty() ? drawFrames() : readFrames(directory);
+		pipeline = alliance.equals("red") ? new RedBallPipeline() : new BlueBallPipeline();
+		gripRed = new GripRedBallPipeline();
+		gripBlue = new GripBlueBallPipeline();
+		checkMasks();
+		detector = new BallDetector(alliance.equals("red") ? new RedBallPipeline() : new BlueBallPipeline());
+	}
+
+	@TearDown(Level.Trial)
+	public void tearDown() {
+		pipeline.release();
+		detector.release();
+		for (Mat image : frames)
+			image.release();
+	}
+
+	@Benchmark
+	public void pipeline(Blackhole blackhole) {
+		pipeline.process(nextFrame());
+		blackhole.consume(pipeline.getBlobCount());
+	}
+
+	// Coarse to fine, which is what BallVision runs.
+	@Benchmark
+	public void detector(Blackhole blackhole) {
+		blackhole.consume(detector.detect(nextFrame()));
+	}
+
+	@Benchmark
+	public void grip(Blackhole blackhole) {
+		if (alliance.equals("red")) {
+			gripRed.process(nextFrame());
+			blackhole.consume(gripRed.filterContoursOutput().size());
+		} else {
+			gripBlue.process(nextFrame());
+			blackhole.consume(gripBlue.filterContoursOutput().size());
+		}
+	}
+
+	private void checkMasks() {
+		Mat difference = new Mat();
+		for (int i = 0; i < frames.length; i++) {
+			pipeline.process(frames[i]);
+			Mat expected;
+			if (alliance.equals("red")) {
+				gripRed.process(frames[i]);
+				expected = gripRed.cvAddOutput();
+			} else {
+				gripBlue.process(frames[i]);
+				expected = gripBlue.hsvThresholdOutput();
+			}
+			Core.compare(pipeline.getMask(), expected, difference, Core.CMP_NE);
+			if (Core.countNonZero(difference) != 0)
+				throw new IllegalStateException("Frame " + i + " mask differs from GRIP");
+		}
+		difference.release();
+	}
+
+	private Mat nextFrame() {
+		Mat image = frames[frame];
+		frame = (frame + 1) % frames.length;
+		return image;
+	}
+
+	private static Mat[] readFrames(String directory) {
+		File[] files = new File(directory).listFiles();
+		if (files == null)
+			throw new IllegalArgumentException(directory + " is not a directory");
+		Arrays.sort(files);
+		List<Mat> images = new ArrayList<>();
+		Size size = new Size(WIDTH, HEIGHT);
+		for (File file : files) {
+			Mat image = Imgcodecs.imread(file.getPath());
+			if (image.empty())
+				continue;
+			if (image.cols() != WIDTH || image.rows() != HEIGHT)
+				Imgproc.resize(image, image, size);
+			images.add(image);
+		}
+		if (images.isEmpty())
+			throw new IllegalArgumentException(directory + " has no images");
+		return images.toArray(new Mat[0]);
+	}
+
+	private static Mat[] drawFrames() {
+		Random random = new Random(201);
+		int balls = 3;
+		double[] x = new double[balls];
+		double[] y = new double[balls];
+		double[] speedX = new double[balls];
+		double[] speedY = new double[balls];
+		int[] radius = new int[balls];
+		for (int i = 0; i < balls; i++) {
+			x[i] = random.nextInt(WIDTH);
+			y[i] = random.nextInt(HEIGHT);
+			speedX[i] = random.nextDouble() * 8 - 4;
+			speedY[i] = random.nextDouble() * 6;
+			radius[i] = 10 + random.nextInt(30);
+		}
+
+		Mat[] images = new Mat[FRAMES];
+		for (int i = 0; i < FRAMES; i++) {
+			Mat image = new Mat(HEIGHT, WIDTH, CvType.CV_8UC3);
+			Core.randu(image, 0, 80);
+			for (int j = 0; j < balls; j++) {
+				Point center = new Point(x[j] + speedX[j] * i, y[j] + speedY[j] * i);
+				Imgproc.circle(image, center, radius[j], j % 2 == 0 ? RED : BLUE, Imgproc.FILLED);
+			}
+			images[i] = image;
+		}
+		return images;
+	}
+}
@@ -1,6 +1,5 @@
 package frc.robot;
 
-import com.ctre.phoenix.motorcontrol.ControlMode;
 import com.ctre.phoenix.motorcontrol.NeutralMode;
 import com.ctre.phoenix.motorcontrol.StatusFrameEnhanced;
 import com.ctre.phoenix.motorcontrol.can.TalonSRX;
@@ -10,19 +9,23 @@ import edu.wpi.first.wpilibj.DoubleSolenoid;
 import edu.wpi.first.wpilibj.DoubleSolenoid.Value;
 import edu.wpi.first.wpilibj.PneumaticsModuleType;
 import frc.robot.config.IntakeConfig;
+import frc.robot.io.IMotorController;
 
 public class BallPickup implements Subsystem {
 
 	private boolean deployed = false;
 	private boolean active = false;
 	private DoubleSolenoid piston;
-	private TalonSRX motor;
+	private final IMotorController motor;
 	private double intakeSpeed;
 	private boolean updateOutput = true;
 
-	public BallPickup(int pcmChannel, int deploySolenoidId, int standbySolenoidId, int motorChannel, IntakeConfig config) {
+	public BallPickup(int pcmChannel, int deploySolenoidId, int standbySolenoidId, IMotorController motor,
+						IntakeConfig config) {
+		if (motor == null)
+			throw new IllegalArgumentException("motor is null");
 		piston = new DoubleSolenoid(pcmChannel, PneumaticsModuleType.CTREPCM, deploySolenoidId, standbySolenoidId);
-		motor = new TalonSRX(motorChannel);
+		this.motor = motor;
 		configure(config);
 	}
 
@@ -44,9 +47,9 @@ public class BallPickup implements Subsystem {
 	public void tick() {
 		if (updateOutput) {
 			if (active)
-				motor.set(ControlMode.PercentOutput, intakeSpeed);
+				motor.setPercentOutput(intakeSpeed);
 			else
-				motor.set(ControlMode.PercentOutput, 0);
+				motor.setPercentOutput(0);
 			if (deployed)
 				piston.set(Value.kReverse);
 			else
@@ -63,18 +66,20 @@ public class BallPickup implements Subsystem {
 			motorConfig.peakCurrentDuration = (int)(config.currentLimitTime * 1000);
 			motorConfig.continuousCurrentLimit = (int)config.currentLimit;
 		}
-		motor.configAllSettings(motorConfig);
-		motor.setNeutralMode(config.brake ? NeutralMode.Brake : NeutralMode.Coast);
-		motor.setInverted(true);
-		motor.setStatusFramePeriod(StatusFrameEnhanced.Status_1_General, 255);
-		motor.setStatusFramePeriod(StatusFrameEnhanced.Status_2_Feedback0, 255);
-		motor.setStatusFramePeriod(StatusFrameEnhanced.Status_3_Quadrature, 255);
-		motor.setStatusFramePeriod(StatusFrameEnhanced.Status_4_AinTempVbat, 255);
-		motor.setStatusFramePeriod(StatusFrameEnhanced.Status_8_PulseWidth, 255);
-		motor.setStatusFramePeriod(StatusFrameEnhanced.Status_10_Targets, 255);
-		motor.setStatusFramePeriod(StatusFrameEnhanced.Status_12_Feedback1, 255);
-		motor.setStatusFramePeriod(StatusFrameEnhanced.Status_13_Base_PIDF0, 255);
-		motor.setStatusFramePeriod(StatusFrameEnhanced.Status_14_Turn_PIDF1, 255);
+		motor.configure(TalonSRX.class, talon -> {
+			talon.configAllSettings(motorConfig);
+			talon.setNeutralMode(config.brake ? NeutralMode.Brake : NeutralMode.Coast);
+			talon.setInverted(true);
+			talon.setStatusFramePeriod(StatusFrameEnhanced.Status_1_General, 255);
+			talon.setStatusFramePeriod(StatusFrameEnhanced.Status_2_Feedback0, 255);
+			talon.setStatusFramePeriod(StatusFrameEnhanced.Status_3_Quadrature, 255);
+			talon.setStatusFramePeriod(StatusFrameEnhanced.Status_4_AinTempVbat, 255);
+			talon.setStatusFramePeriod(StatusFrameEnhanced.Status_8_PulseWidth, 255);
+			talon.setStatusFramePeriod(StatusFrameEnhanced.Status_10_Targets, 255);
+			talon.setStatusFramePeriod(StatusFrameEnhanced.Status_12_Feedback1, 255);
+			talon.setStatusFramePeriod(StatusFrameEnhanced.Status_13_Base_PIDF0, 255);
+			talon.setStatusFramePeriod(StatusFrameEnhanced.Status_14_Turn_PIDF1, 255);
+		});
 
 		intakeSpeed = config.speed;
 	}
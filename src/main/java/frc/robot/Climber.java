@@ -1,6 +1,5 @@
 package frc.robot;
 
-import com.ctre.phoenix.motorcontrol.ControlMode;
 import com.ctre.phoenix.motorcontrol.FeedbackDevice;
 import com.ctre.phoenix.motorcontrol.NeutralMode;
 import com.ctre.phoenix.motorcontrol.StatusFrameEnhanced;
@@ -10,14 +9,15 @@ import com.ctre.phoenix.motorcontrol.can.TalonFX;
 import com.ctre.phoenix.motorcontrol.can.TalonFXConfiguration;
 import com.ctre.phoenix.sensors.SensorInitializationStrategy;
 
-import edu.wpi.first.wpilibj.DigitalInput;
 import frc.robot.config.ClimberConfig;
+import frc.robot.io.ILimitSwitch;
+import frc.robot.io.IMotorController;
 
 public class Climber implements Subsystem {
 
-	private final TalonFX leftMotor;
-	private final TalonFX rightMotor;
-	private final DigitalInput limitSwitch;
+	private final IMotorController leftMotor;
+	private final IMotorController rightMotor;
+	private final ILimitSwitch limitSwitch;
 
 	private double forwardSpeed;
 	private double reverseSpeed;
@@ -28,10 +28,17 @@ public class Climber implements Subsystem {
 	private double velocity = 0;
 	private boolean high = false;
 
-	public Climber(int leftChannel, int rightChannel, int limitChannel, ClimberConfig config) {
-		leftMotor = new TalonFX(leftChannel);
-		rightMotor = new TalonFX(rightChannel);
-		limitSwitch = new DigitalInput(limitChannel);
+	public Climber(IMotorController leftMotor, IMotorController rightMotor, ILimitSwitch limitSwitch,
+					ClimberConfig config) {
+		if (leftMotor == null)
+			throw new IllegalArgumentException("leftMotor is null");
+		if (rightMotor == null)
+			throw new IllegalArgumentException("rightMotor is null");
+		if (limitSwitch == null)
+			throw new IllegalArgumentException("limitSwitch is null");
+		this.leftMotor = leftMotor;
+		this.rightMotor = rightMotor;
+		this.limitSwitch = limitSwitch;
 
 		configure(config);
 	}
@@ -47,20 +54,20 @@ public class Climber implements Subsystem {
 	@Override
 	public void tick() {
 		if (high) {
-			if (leftMotor.getSelectedSensorPosition() < highEncoderCountsLow)
-				leftMotor.set(ControlMode.PercentOutput, forwardSpeed);
-			else if (leftMotor.getSelectedSensorPosition() > highEncoderCountsHigh &&
+			if (leftMotor.getEncoder().getPosition() < highEncoderCountsLow)
+				leftMotor.setPercentOutput(forwardSpeed);
+			else if (leftMotor.getEncoder().getPosition() > highEncoderCountsHigh &&
 						!limitSwitch.get())
-				leftMotor.set(ControlMode.PercentOutput, reverseSpeed);
+				leftMotor.setPercentOutput(reverseSpeed);
 			else
-				leftMotor.set(ControlMode.PercentOutput, 0);
+				leftMotor.setPercentOutput(0);
 		} else {
 			if (velocity > 0)
-				leftMotor.set(ControlMode.PercentOutput, forwardSpeed * velocity);
+				leftMotor.setPercentOutput(forwardSpeed * velocity);
 			else if (velocity < 0 && !limitSwitch.get())
-				leftMotor.set(ControlMode.PercentOutput, reverseSpeed * -velocity);
+				leftMotor.setPercentOutput(reverseSpeed * -velocity);
 			else
-				leftMotor.set(ControlMode.PercentOutput, 0);
+				leftMotor.setPercentOutput(0);
 		}
 	}
 
@@ -79,20 +86,22 @@ public class Climber implements Subsystem {
 		leftConfig.forwardSoftLimitThreshold = config.upEncoderCounts;
 		leftConfig.reverseSoftLimitEnable = true;
 		leftConfig.reverseSoftLimitThreshold = config.downEncoderCounts;
-		leftMotor.configAllSettings(leftConfig);
-		leftMotor.setInverted(true);
-		leftMotor.setNeutralMode(NeutralMode.Brake);
-		leftMotor.setSelectedSensorPosition(0);
-		leftMotor.setStatusFramePeriod(StatusFrameEnhanced.Status_1_General, 10);
-		leftMotor.setStatusFramePeriod(StatusFrameEnhanced.Status_2_Feedback0, 20);
-		leftMotor.setStatusFramePeriod(StatusFrameEnhanced.Status_3_Quadrature, 255);
-		leftMotor.setStatusFramePeriod(StatusFrameEnhanced.Status_4_AinTempVbat, 255);
-		leftMotor.setStatusFramePeriod(StatusFrameEnhanced.Status_8_PulseWidth, 255);
-		leftMotor.setStatusFramePeriod(StatusFrameEnhanced.Status_10_Targets, 255);
-		leftMotor.setStatusFramePeriod(StatusFrameEnhanced.Status_12_Feedback1, 255);
-		leftMotor.setStatusFramePeriod(StatusFrameEnhanced.Status_13_Base_PIDF0, 255);
-		leftMotor.setStatusFramePeriod(StatusFrameEnhanced.Status_14_Turn_PIDF1, 255);
-		leftMotor.setStatusFramePeriod(StatusFrameEnhanced.Status_Brushless_Current, 255);
+		leftMotor.configure(TalonFX.class, talon -> {
+			talon.configAllSettings(leftConfig);
+			talon.setInverted(true);
+			talon.setNeutralMode(NeutralMode.Brake);
+			talon.setStatusFramePeriod(StatusFrameEnhanced.Status_1_General, 10);
+			talon.setStatusFramePeriod(StatusFrameEnhanced.Status_2_Feedback0, 20);
+			talon.setStatusFramePeriod(StatusFrameEnhanced.Status_3_Quadrature, 255);
+			talon.setStatusFramePeriod(StatusFrameEnhanced.Status_4_AinTempVbat, 255);
+			talon.setStatusFramePeriod(StatusFrameEnhanced.Status_8_PulseWidth, 255);
+			talon.setStatusFramePeriod(StatusFrameEnhanced.Status_10_Targets, 255);
+			talon.setStatusFramePeriod(StatusFrameEnhanced.Status_12_Feedback1, 255);
+			talon.setStatusFramePeriod(StatusFrameEnhanced.Status_13_Base_PIDF0, 255);
+			talon.setStatusFramePeriod(StatusFrameEnhanced.Status_14_Turn_PIDF1, 255);
+			talon.setStatusFramePeriod(StatusFrameEnhanced.Status_Brushless_Current, 255);
+		});
+		leftMotor.getEncoder().setPosition(0);
 
 		TalonFXConfiguration rightConfig = new TalonFXConfiguration();
 		rightConfig.neutralDeadband = 0.001;
@@ -100,20 +109,22 @@ public class Climber implements Subsystem {
 		rightConfig.supplyCurrLimit.enable = config.currentLimitEnabled;
 		rightConfig.supplyCurrLimit.currentLimit = config.currentLimit;
 		rightConfig.supplyCurrLimit.triggerThresholdTime = config.currentLimitTime;
-		rightMotor.configAllSettings(rightConfig);
-		rightMotor.setInverted(TalonFXInvertType.OpposeMaster);
-		rightMotor.setNeutralMode(NeutralMode.Brake);
+		rightMotor.configure(TalonFX.class, talon -> {
+			talon.configAllSettings(rightConfig);
+			talon.setInverted(TalonFXInvertType.OpposeMaster);
+			talon.setNeutralMode(NeutralMode.Brake);
+			talon.setStatusFramePeriod(StatusFrameEnhanced.Status_1_General, 255);
+			talon.setStatusFramePeriod(StatusFrameEnhanced.Status_2_Feedback0, 255);
+			talon.setStatusFramePeriod(StatusFrameEnhanced.Status_3_Quadrature, 255);
+			talon.setStatusFramePeriod(StatusFrameEnhanced.Status_4_AinTempVbat, 255);
+			talon.setStatusFramePeriod(StatusFrameEnhanced.Status_8_PulseWidth, 255);
+			talon.setStatusFramePeriod(StatusFrameEnhanced.Status_10_Targets, 255);
+			talon.setStatusFramePeriod(StatusFrameEnhanced.Status_12_Feedback1, 255);
+			talon.setStatusFramePeriod(StatusFrameEnhanced.Status_13_Base_PIDF0, 255);
+			talon.setStatusFramePeriod(StatusFrameEnhanced.Status_14_Turn_PIDF1, 255);
+			talon.setStatusFramePeriod(StatusFrameEnhanced.Status_Brushless_Current, 255);
+		});
 		rightMotor.follow(leftMotor);
-		rightMotor.setStatusFramePeriod(StatusFrameEnhanced.Status_1_General, 255);
-		rightMotor.setStatusFramePeriod(StatusFrameEnhanced.Status_2_Feedback0, 255);
-		rightMotor.setStatusFramePeriod(StatusFrameEnhanced.Status_3_Quadrature, 255);
-		rightMotor.setStatusFramePeriod(StatusFrameEnhanced.Status_4_AinTempVbat, 255);
-		rightMotor.setStatusFramePeriod(StatusFrameEnhanced.Status_8_PulseWidth, 255);
-		rightMotor.setStatusFramePeriod(StatusFrameEnhanced.Status_10_Targets, 255);
-		rightMotor.setStatusFramePeriod(StatusFrameEnhanced.Status_12_Feedback1, 255);
-		rightMotor.setStatusFramePeriod(StatusFrameEnhanced.Status_13_Base_PIDF0, 255);
-		rightMotor.setStatusFramePeriod(StatusFrameEnhanced.Status_14_Turn_PIDF1, 255);
-		rightMotor.setStatusFramePeriod(StatusFrameEnhanced.Status_Brushless_Current, 255);
 
 		forwardSpeed = config.forwardSpeed;
 		reverseSpeed = config.reverseSpeed;
@@ -0,0 +1,117 @@
+package frc.robot;
+
+import java.util.function.LongSupplier;
+
+// Time source for the robot loop. It is read once per loop from a monotonic nanosecond
+// clock and every subsystem takes its time delta from it, so they all agree on how long
+// the loop took. The delta handed out is clamped: two updates in the same instant would
+// otherwise divide by zero in a derivative term, and a long overrun would turn into one
+// huge acceleration or integral step.
+//
+// The nanosecond clock can be swapped out, so that simulations and anything timing itself
+// against the loop, like the ball camera thread, can be driven without wall time.
+public class LoopClock {
+
+	// How quickly the jitter average follows new periods.
+	public static final double JITTER_SMOOTHING = 0.05;
+
+	private final double nominalPeriod;
+	private final double minDelta;
+	private final double maxDelta;
+	private final LongSupplier nanoTime;
+
+	// Written before started, so another thread that sees started also sees the start.
+	private volatile long startNanos;
+	private long lastNanos;
+	private volatile boolean started = false;
+
+	private double time = 0;
+	private double delta;
+	private double period;
+	private double jitter = 0;
+	private double maxPeriod = 0;
+	private int overruns = 0;
+
+	public LoopClock(double nominalPeriod) {
+		this(nominalPeriod, System::nanoTime);
+	}
+
+	public LoopClock(double nominalPeriod, LongSupplier nanoTime) {
+		if (nominalPeriod <= 0)
+			throw new IllegalArgumentException("nominalPeriod is not positive");
+		if (nanoTime == null)
+			throw new IllegalArgumentException("nanoTime is null");
+		this.nominalPeriod = nominalPeriod;
+		this.nanoTime = nanoTime;
+		minDelta = nominalPeriod / 20;
+		maxDelta = nominalPeriod * 5;
+		delta = nominalPeriod;
+		period = nominalPeriod;
+	}
+
+	public void update() {
+		update(nanoTime.getAsLong());
+	}
+
+	// Simulations drive the clock directly with their own timestamps, which should come
+	// from the same source as the clock's so getNow agrees with them.
+	public void update(long nanos) {
+		if (!started) {
+			startNanos = nanos;
+			lastNanos = nanos;
+			started = true;
+			return;
+		}
+
+		period = (nanos - lastNanos) / 1e9;
+		lastNanos = nanos;
+		time = (nanos - startNanos) / 1e9;
+
+		delta = Math.min(Math.max(period, minDelta), maxDelta);
+		jitter += (Math.abs(period - nominalPeriod) - jitter) * JITTER_SMOOTHING;
+		if (period > maxPeriod)
+			maxPeriod = period;
+		if (period > nominalPeriod * 1.5)
+			overruns++;
+	}
+
+	// Seconds since the first update.
+	public double getTime() {
+		return time;
+	}
+
+	// Seconds since the first update as of right now, rather than the start of this loop.
+	// Safe to call from any thread, and zero until the first update.
+	public double getNow() {
+		if (!started)
+			return 0;
+		return (nanoTime.getAsLong() - startNanos) / 1e9;
+	}
+
+	// Seconds since the last update, clamped for use in control loops.
+	public double getDelta() {
+		return delta;
+	}
+
+	public double getNominalPeriod() {
+		return nominalPeriod;
+	}
+
+	// Measured seconds between the last two updates.
+	public double getPeriod() {
+		return period;
+	}
+
+	// Average distance of the measured period from the nominal period, in seconds.
+	public double getJitter() {
+		return jitter;
+	}
+
+	public double getMaxPeriod() {
+		return maxPeriod;
+	}
+
+	public int getOverruns() {
+		return overruns;
+	}
+}
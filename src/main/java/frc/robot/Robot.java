@@ -10,9 +10,6 @@ import com.ctre.phoenix.motorcontrol.FeedbackDevice;
 import com.ctre.phoenix.motorcontrol.StatusFrameEnhanced;
 import com.ctre.phoenix.motorcontrol.can.TalonSRX;
 
-import edu.wpi.first.cameraserver.CameraServer;
-import edu.wpi.first.cscore.UsbCamera;
-import edu.wpi.first.cscore.VideoMode.PixelFormat;
 import edu.wpi.first.math.geometry.Rotation2d;
 import edu.wpi.first.networktables.NetworkTable;
 import edu.wpi.first.networktables.NetworkTableInstance;
@@ -37,26 +34,37 @@ import frc.robot.config.AbsoluteSteeringConfig;
 import frc.robot.config.BallVisionConfig;
 import frc.robot.config.ClimberConfig;
 import frc.robot.config.IntakeConfig;
+import frc.robot.config.PoseEstimatorConfig;
 import frc.robot.config.ShooterConfig;
 import frc.robot.config.SwerveDriveConfig;
+import frc.robot.config.TrajectoryConfig;
+import frc.robot.io.FakeHardware;
+import frc.robot.io.IHardware;
+import frc.robot.io.RealHardware;
 import frc.robot.profiles.ControlProfile;
 import frc.robot.profiles.auton.BasicDualBallAutonProfile;
 import frc.robot.profiles.auton.BasicSingleBallAutonProfile;
-import frc.robot.profiles.auton.planned.AdvancedQuintAutonProfile;
-import frc.robot.profiles.auton.planned.AdvancedTriAutonProfile;
 import frc.robot.profiles.auton.planned.AutonPlan;
+import frc.robot.profiles.auton.planned.AutonTrajectory;
+import frc.robot.profiles.auton.steps.SequencedAutonProfile;
 import frc.robot.profiles.teleop.DefaultDriverProfile;
 import frc.robot.profiles.teleop.TestDriverProfile;
 import frc.robot.shooter.Shooter;
 import frc.robot.shooter.ShooterHardware;
 import frc.robot.shooter.ShooterMode;
 import frc.robot.shooter.ShooterVision;
+import frc.robot.shooter.ShotRecorder;
 import frc.robot.swerve.FourCornerSwerveDrive;
 import frc.robot.swerve.ISwerveDrive;
 import frc.robot.swerve.ISwerveModule;
+import frc.robot.swerve.PoseEstimator;
 import frc.robot.swerve.RobotPose;
 import frc.robot.swerve.SDSMk4FXModule;
 import frc.robot.swerve.SwerveMode;
+import frc.robot.telemetry.ITelemetryTable;
+import frc.robot.telemetry.LoopProfiler;
+import frc.robot.telemetry.NetworkTelemetryTable;
+import frc.robot.telemetry.TelemetryScheduler;
 import frc.robot.vision.BallVision;
 import frc.robot.vision.BlueBallPipeline;
 import frc.robot.vision.RedBallPipeline;
@@ -73,10 +81,15 @@ public class Robot extends TimedRobot {
 	public static final String SHOOTER_CONFIG_FILE = "shooterconfig.ini";
 	public static final String SHOOTER_VISION_POINTS_FILE = "shootervisionpoints.json";
 	public static final String CLIMBER_CONFIG_FILE = "climberconfig.ini";
+	public static final String POSE_ESTIMATOR_CONFIG_FILE = "poseestimatorconfig.ini";
+	public static final String TRAJECTORY_CONFIG_FILE = "trajectoryconfig.ini";
 
 	public static final String QUINT_AUTON_PLAN_FILE = "quintautonplan.json";
 	public static final String TRI_AUTON_PLAN_FILE = "triautonplan.json";
 
+	// Outside the deploy directory so deploying doesn't wipe it.
+	public static final String SHOT_LOG_FILE = "/home/lvuser/shots.bin";
+
 	public static final int PDP_CHANNEL = 1;
 	public static final int PCM_CHANNEL = 8;
 
@@ -114,6 +127,53 @@ public class Robot extends TimedRobot {
 	public static final int INDICATOR_LIGHTS_COUNT = 120;
 	public static final int INDICATOR_LIGHTS_ENDGAME_TIME = 40;
 
+	public static final int CAMERA_WIDTH = 320;
+	public static final int CAMERA_HEIGHT = 240;
+	public static final int CAMERA_FPS = 15;
+
+	public static final int PERF_PUBLISH_INTERVAL = 50;
+	public static final double POSE_TELEMETRY_RATE = 25;
+	public static final double SHOOTER_TELEMETRY_RATE = 10;
+	public static final double STATUS_TELEMETRY_RATE = 2;
+
+	private final LoopClock clock = new LoopClock(PERIOD);
+	private final IHardware hardware = isReal() ? new RealHardware() : new FakeHardware();
+
+	private LoopProfiler profiler;
+	private int loopSection;
+	private int profileSection;
+	private int swerveSection;
+	private int intakeSection;
+	private int shooterSection;
+	private int poseEstimatorSection;
+	private int climberSection;
+	private int ballVisionSection;
+	private int lightsSection;
+	private int telemetrySection;
+
+	private TelemetryScheduler telemetry;
+	private int swerveX;
+	private int swerveY;
+	private int swerveAngle;
+	private int visionAccepted;
+	private int visionRejected;
+	private int shooterX;
+	private int shooterY;
+	private int ballVisionAge;
+	private int ballVisionLatency;
+	private int ballVisionFrames;
+	private int ballVisionGrabErrors;
+	private int ballVisionMissedFrames;
+	private int ballVisionCpu;
+	private int loopPeriod;
+	private int loopJitter;
+	private int loopMaxPeriod;
+	private int loopOverruns;
+	private int pcmCurrentLow;
+	private int pcmCurrentHigh;
+	private int pcmShort;
+	private int limelightFault;
+
 	private RobotPose pose;
 
 	private ControlProfile[] driverProfiles;
@@ -131,9 +191,9 @@ public class Robot extends TimedRobot {
 	private BallPickup intake;
 	private BallVision ballVision;
 	private Shooter shooter;
+	private PoseEstimator poseEstimator;
 	private Climber climber;
 	private IndicatorLights indicatorLights;
-	private UsbCamera camera;
 
 	private SwerveDriveConfig swerveDriveConfig;
 	private AbsoluteSteeringConfig absoluteSteeringConfig;
@@ -141,9 +201,11 @@ public class Robot extends TimedRobot {
 	private BallVisionConfig ballVisionConfig;
 	private ShooterConfig shooterConfig;
 	private ClimberConfig climberConfig;
+	private PoseEstimatorConfig poseEstimatorConfig;
+	private TrajectoryConfig trajectoryConfig;
 
-	private AutonPlan quintAutonPlan;
-	private AutonPlan triAutonPlan;
+	private AutonTrajectory quintAutonTrajectory;
+	private AutonTrajectory triAutonTrajectory;
 
 	private SendableChooser<Integer> driverSelector = new SendableChooser<>();
 	private SendableChooser<Integer> autonSelector = new SendableChooser<>();
@@ -171,8 +233,10 @@ public class Robot extends TimedRobot {
 			System.err.println(e);
 		}
 		try {
-			quintAutonPlan = AutonPlan.load(Filesystem.getDeployDirectory() + "/" + QUINT_AUTON_PLAN_FILE);
-			triAutonPlan = AutonPlan.load(Filesystem.getDeployDirectory() + "/" + TRI_AUTON_PLAN_FILE);
+			AutonPlan quintAutonPlan = AutonPlan.load(Filesystem.getDeployDirectory() + "/" + QUINT_AUTON_PLAN_FILE);
+			AutonPlan triAutonPlan = AutonPlan.load(Filesystem.getDeployDirectory() + "/" + TRI_AUTON_PLAN_FILE);
+			quintAutonTrajectory = AutonTrajectory.generate(quintAutonPlan, trajectoryConfig, PERIOD);
+			triAutonTrajectory = AutonTrajectory.generate(triAutonPlan, trajectoryConfig, PERIOD);
 			System.out.println("Successfully loaded auton plans");
 		} catch (IOException e) {
 			System.err.println("Error loading auton plans");
@@ -181,14 +245,60 @@ public class Robot extends TimedRobot {
 
 		pose = new RobotPose();
 
-		TalonSRX talon1 = new TalonSRX(SWERVE_FRONT_LEFT_ENCODER);
-		TalonSRX talon2 = new TalonSRX(SWERVE_FRONT_RIGHT_ENCODER);
-		TalonSRX talon3 = new TalonSRX(SWERVE_BACK_LEFT_ENCODER);
-		TalonSRX talon4 = new TalonSRX(SWERVE_BACK_RIGHT_ENCODER);
-		configEncoderTalon(talon1);
-		configEncoderTalon(talon2);
-		configEncoderTalon(talon3);
-		configEncoderTalon(talon4);
+		profiler = new LoopProfiler(new NetworkTelemetryTable("/perf"), PERF_PUBLISH_INTERVAL);
+		loopSection = profiler.add("loop");
+		profileSection = profiler.add("profile");
+		swerveSection = profiler.add("swerve");
+		intakeSection = profiler.add("intake");
+		shooterSection = profiler.add("shooter");
+		poseEstimatorSection = profiler.add("poseestimator");
+		climberSection = profiler.add("climber");
+		ballVisionSection = profiler.add("ballvision");
+		lightsSection = profiler.add("lights");
+		telemetrySection = profiler.add("telemetry");
+
+		telemetry = new TelemetryScheduler(PERIOD, NetworkTableInstance.getDefault()::flush);
+		{
+			ITelemetryTable table = new NetworkTelemetryTable("/swerve");
+			swerveX = telemetry.addDouble(table.getDoublePublisher("x"), POSE_TELEMETRY_RATE, 0.1);
+			swerveY = telemetry.addDouble(table.getDoublePublisher("y"), POSE_TELEMETRY_RATE, 0.1);
+			swerveAngle = telemetry.addDouble(table.getDoublePublisher("angle"), POSE_TELEMETRY_RATE, 0.1);
+			visionAccepted = telemetry.addDouble(table.getDoublePublisher("visionaccepted"), STATUS_TELEMETRY_RATE, 0);
+			visionRejected = telemetry.addDouble(table.getDoublePublisher("visionrejected"), STATUS_TELEMETRY_RATE, 0);
+		}
+		{
+			ITelemetryTable table = new NetworkTelemetryTable("/shooter");
+			shooterX = telemetry.addDouble(table.getDoublePublisher("x"), SHOOTER_TELEMETRY_RATE, 0.005);
+			shooterY = telemetry.addDouble(table.getDoublePublisher("y"), SHOOTER_TELEMETRY_RATE, 0.005);
+		}
+		{
+			ITelemetryTable table = new NetworkTelemetryTable("/ballvision");
+			ballVisionAge = telemetry.addDouble(table.getDoublePublisher("age"), STATUS_TELEMETRY_RATE, 1);
+			ballVisionLatency = telemetry.addDouble(table.getDoublePublisher("latency"), STATUS_TELEMETRY_RATE, 1);
+			ballVisionFrames = telemetry.addDouble(table.getDoublePublisher("frames"), STATUS_TELEMETRY_RATE, 0);
+			ballVisionGrabErrors = telemetry.addDouble(table.getDoublePublisher("graberrors"), STATUS_TELEMETRY_RATE, 0);
+			ballVisionMissedFrames = telemetry.addDouble(table.getDoublePublisher("missedframes"), STATUS_TELEMETRY_RATE, 0);
+			ballVisionCpu = telemetry.addDouble(table.getDoublePublisher("cpu"), STATUS_TELEMETRY_RATE, 1);
+		}
+		{
+			ITelemetryTable table = new NetworkTelemetryTable("/loop");
+			loopPeriod = telemetry.addDouble(table.getDoublePublisher("period"), STATUS_TELEMETRY_RATE, 0.1);
+			loopJitter = telemetry.addDouble(table.getDoublePublisher("jitter"), STATUS_TELEMETRY_RATE, 0.1);
+			loopMaxPeriod = telemetry.addDouble(table.getDoublePublisher("maxperiod"), STATUS_TELEMETRY_RATE, 0);
+			loopOverruns = telemetry.addDouble(table.getDoublePublisher("overruns"), STATUS_TELEMETRY_RATE, 0);
+		}
+		{
+			ITelemetryTable table = new NetworkTelemetryTable("/faults");
+			pcmCurrentLow = telemetry.addBoolean(table.getBooleanPublisher("pcm_currlow"), STATUS_TELEMETRY_RATE);
+			pcmCurrentHigh = telemetry.addBoolean(table.getBooleanPublisher("pcm_currhigh"), STATUS_TELEMETRY_RATE);
+			pcmShort = telemetry.addBoolean(table.getBooleanPublisher("pcm_short"), STATUS_TELEMETRY_RATE);
+			limelightFault = telemetry.addBoolean(table.getBooleanPublisher("ll_fault"), STATUS_TELEMETRY_RATE);
+		}
+
+		hardware.getTalonSRX(SWERVE_FRONT_LEFT_ENCODER).configure(TalonSRX.class, Robot::configEncoderTalon);
+		hardware.getTalonSRX(SWERVE_FRONT_RIGHT_ENCODER).configure(TalonSRX.class, Robot::configEncoderTalon);
+		hardware.getTalonSRX(SWERVE_BACK_LEFT_ENCODER).configure(TalonSRX.class, Robot::configEncoderTalon);
+		hardware.getTalonSRX(SWERVE_BACK_RIGHT_ENCODER).configure(TalonSRX.class, Robot::configEncoderTalon);
 
 		pdp = new PowerDistribution(PDP_CHANNEL, ModuleType.kCTRE);
 		pdp.clearStickyFaults();
@@ -197,33 +307,54 @@ public class Robot extends TimedRobot {
 
 		{
 			NetworkTable table = NetworkTableInstance.getDefault().getTable("swervealignment");
-			ISwerveModule frontLeft = new SDSMk4FXModule(SWERVE_FRONT_LEFT_STEER, SWERVE_FRONT_LEFT_DRIVE,
-															SWERVE_FRONT_LEFT_ENCODER, table.getEntry("index0").getDouble(0),
-															swerveDriveConfig.moduleConfig);
-			ISwerveModule frontRight = new SDSMk4FXModule(SWERVE_FRONT_RIGHT_STEER, SWERVE_FRONT_RIGHT_DRIVE,
-															SWERVE_FRONT_RIGHT_ENCODER, table.getEntry("index1").getDouble(0),
-															swerveDriveConfig.moduleConfig);
-			ISwerveModule backLeft = new SDSMk4FXModule(SWERVE_BACK_LEFT_STEER, SWERVE_BACK_LEFT_DRIVE,
-															SWERVE_BACK_LEFT_ENCODER, table.getEntry("index2").getDouble(0),
-															swerveDriveConfig.moduleConfig);
-			ISwerveModule backRight = new SDSMk4FXModule(SWERVE_BACK_RIGHT_STEER, SWERVE_BACK_RIGHT_DRIVE,
-															SWERVE_BACK_RIGHT_ENCODER, table.getEntry("index3").getDouble(0),
-															swerveDriveConfig.moduleConfig);
+			ISwerveModule frontLeft = new SDSMk4FXModule(hardware.getTalonFX(SWERVE_FRONT_LEFT_STEER),
+														hardware.getTalonFX(SWERVE_FRONT_LEFT_DRIVE),
+														SWERVE_FRONT_LEFT_ENCODER, table.getEntry("index0").getDouble(0),
+														clock, swerveDriveConfig.moduleConfig);
+			ISwerveModule frontRight = new SDSMk4FXModule(hardware.getTalonFX(SWERVE_FRONT_RIGHT_STEER),
+														hardware.getTalonFX(SWERVE_FRONT_RIGHT_DRIVE),
+														SWERVE_FRONT_RIGHT_ENCODER, table.getEntry("index1").getDouble(0),
+														clock, swerveDriveConfig.moduleConfig);
+			ISwerveModule backLeft = new SDSMk4FXModule(hardware.getTalonFX(SWERVE_BACK_LEFT_STEER),
+														hardware.getTalonFX(SWERVE_BACK_LEFT_DRIVE),
+														SWERVE_BACK_LEFT_ENCODER, table.getEntry("index2").getDouble(0),
+														clock, swerveDriveConfig.moduleConfig);
+			ISwerveModule backRight = new SDSMk4FXModule(hardware.getTalonFX(SWERVE_BACK_RIGHT_STEER),
+														hardware.getTalonFX(SWERVE_BACK_RIGHT_DRIVE),
+														SWERVE_BACK_RIGHT_ENCODER, table.getEntry("index3").getDouble(0),
+														clock, swerveDriveConfig.moduleConfig);
 			swerveDrive = new FourCornerSwerveDrive(frontLeft, frontRight, backLeft, backRight,
-													SWERVE_PIGEON, pose, swerveDriveConfig);
+													hardware.getPigeon2(SWERVE_PIGEON), pose, clock, swerveDriveConfig);
 		}
 
-		intake = new BallPickup(PCM_CHANNEL, INTAKE_SOLENOID_DEPLOY, INTAKE_SOLENOID_STANDBY, INTAKE_MOTOR, intakeConfig);
+		intake = new BallPickup(PCM_CHANNEL, INTAKE_SOLENOID_DEPLOY, INTAKE_SOLENOID_STANDBY,
+								hardware.getTalonSRX(INTAKE_MOTOR), intakeConfig);
 
-		camera = CameraServer.startAutomaticCapture();
-		camera.setVideoMode(PixelFormat.kMJPEG, 320, 240, 15);
-		ballVision = new BallVision(camera, new RedBallPipeline(), new BlueBallPipeline(), ballVisionConfig);
+		ballVision = new BallVision(hardware.getCamera(CAMERA_WIDTH, CAMERA_HEIGHT, CAMERA_FPS),
+									new RedBallPipeline(), new BlueBallPipeline(), clock, ballVisionConfig);
 
-		shooter = new Shooter(new ShooterHardware(SHOOTER_TOP_ID, SHOOTER_BOTTOM_ID, SHOOTER_FEEDER_ID,
-								shooterConfig.hardwareConfig), new ShooterVision(shooterConfig.visionConfig),
-								shooterConfig);
+		{
+			ShooterVision shooterVision = new ShooterVision(new NetworkTelemetryTable("limelight"), pose, clock,
+															shooterConfig.visionConfig);
+			ShooterHardware shooterHardware = new ShooterHardware(hardware.getTalonFX(SHOOTER_TOP_ID),
+																	hardware.getTalonFX(SHOOTER_BOTTOM_ID),
+																	hardware.getTalonFX(SHOOTER_FEEDER_ID),
+																	clock, shooterConfig.hardwareConfig);
+			shooter = new Shooter(shooterHardware, shooterVision, shooterConfig);
+			if (shooterConfig.recordShots) {
+				try {
+					shooter.setRecorder(new ShotRecorder(SHOT_LOG_FILE, clock));
+				} catch (IOException e) {
+					System.err.println("Error opening shot log");
+					System.err.println(e);
+				}
+			}
+			poseEstimator = new PoseEstimator(pose, swerveDrive.getHistory(), shooterVision,
+											poseEstimatorConfig);
+		}
 
-		climber = new Climber(CLIMBER_LEFT_ID, CLIMBER_RIGHT_ID, CLIMBER_LIMIT_PORT, climberConfig);
+		climber = new Climber(hardware.getTalonFX(CLIMBER_LEFT_ID), hardware.getTalonFX(CLIMBER_RIGHT_ID),
+								hardware.getDigitalInput(CLIMBER_LIMIT_PORT), climberConfig);
 
 		indicatorLights = new IndicatorLights(INDICATOR_LIGHTS_PORT, INDICATOR_LIGHTS_COUNT);
 
@@ -232,19 +363,24 @@ public class Robot extends TimedRobot {
 
 		driverProfiles = new ControlProfile[] {
 			new DefaultDriverProfile(driverController, operatorController,
-										pose, absoluteSteeringConfig),
+										pose, clock, absoluteSteeringConfig),
 			new TestDriverProfile(driverController)
 		};
 		activeDriverProfile = driverProfiles[0];
 		driverSelector.setDefaultOption("Default", 0);
 		driverSelector.addOption("Test", 1);
 
+		SequencedAutonProfile quintAutonProfile = new SequencedAutonProfile(clock, pose, quintAutonTrajectory,
+																			ballVision);
+		quintAutonProfile.setTelemetry(new NetworkTelemetryTable("/auton/quint"));
+		SequencedAutonProfile triAutonProfile = new SequencedAutonProfile(clock, pose, triAutonTrajectory,
+																			ballVision);
+		triAutonProfile.setTelemetry(new NetworkTelemetryTable("/auton/tri"));
 		autonProfiles = new ControlProfile[] {
 			new BasicDualBallAutonProfile(PERIOD),
 			new BasicSingleBallAutonProfile(PERIOD),
-			new AdvancedQuintAutonProfile(PERIOD, pose, quintAutonPlan,
-											ballVision),
-			new AdvancedTriAutonProfile(PERIOD, pose, triAutonPlan)
+			quintAutonProfile,
+			triAutonProfile
 		};
 		activeAutonProfile = autonProfiles[0];
 		autonSelector.setDefaultOption("Basic 2-Ball", 0);
@@ -280,15 +416,32 @@ public class Robot extends TimedRobot {
 
 	@Override
 	public void robotPeriodic() {
+		clock.update();
+		profiler.begin(loopSection);
+
 		activeDriverProfile = driverProfiles[driverSelector.getSelected()];
 		activeAutonProfile = autonProfiles[autonSelector.getSelected()];
 
+		profiler.begin(swerveSection);
 		swerveDrive.tick();
+		profiler.end(swerveSection);
+		profiler.begin(intakeSection);
 		intake.tick();
+		profiler.end(intakeSection);
+		profiler.begin(shooterSection);
 		shooter.tick();
+		profiler.end(shooterSection);
+		profiler.begin(poseEstimatorSection);
+		poseEstimator.tick();
+		profiler.end(poseEstimatorSection);
+		profiler.begin(climberSection);
 		climber.tick();
+		profiler.end(climberSection);
 
+		profiler.begin(ballVisionSection);
 		ballVision.setAlliance(DriverStation.getAlliance());
+		ballVision.tick();
+		profiler.end(ballVisionSection);
 
 		if (isEnabled()) {
 			if (shooter.getSpin()) {
@@ -386,38 +539,68 @@ public class Robot extends TimedRobot {
 			indicatorLights.set(LEDZone.BOTTOM, LEDPattern.PASS, null);
 			indicatorLights.set(LEDZone.CENTER, LEDPattern.PASS, null);
 		}
+		profiler.begin(lightsSection);
 		indicatorLights.tick();
+		profiler.end(lightsSection);
 
+		profiler.begin(telemetrySection);
 		{
-			NetworkTable table = NetworkTableInstance.getDefault().getTable("/swerve");
-			table.getEntry("x").setDouble(pose.x);
-			table.getEntry("y").setDouble(pose.y);
-			table.getEntry("angle").setDouble(pose.angle * 360);
-			final double INCHES_TO_METERS = 0.0254;
-			field.setRobotPose(8.2296 + pose.y * INCHES_TO_METERS, 4.1148 - pose.x * INCHES_TO_METERS,
-								new Rotation2d(-pose.angle * Math.PI * 2));
+			telemetry.set(swerveX, pose.x);
+			telemetry.set(swerveY, pose.y);
+			telemetry.set(swerveAngle, pose.angle * 360);
+			telemetry.set(visionAccepted, poseEstimator.getAccepted());
+			telemetry.set(visionRejected, poseEstimator.getRejected());
+			// The pose channels share a rate, so they are all due on the same loops as this.
+			if (telemetry.isDue(swerveX)) {
+				final double INCHES_TO_METERS = 0.0254;
+				field.setRobotPose(8.2296 + pose.y * INCHES_TO_METERS, 4.1148 - pose.x * INCHES_TO_METERS,
+									new Rotation2d(-pose.angle * Math.PI * 2));
+			}
 		}
 		{
-			NetworkTable table = NetworkTableInstance.getDefault().getTable("/shooter");
 			double[] target = shooter.getTarget();
-			table.getEntry("x").setDouble(target[0]);
-			table.getEntry("y").setDouble(target[1]);
+			telemetry.set(shooterX, target[0]);
+			telemetry.set(shooterY, target[1]);
 		}
 		{
-			NetworkTable table = NetworkTableInstance.getDefault().getTable("/faults");
-			table.getEntry("pcm_currlow").setBoolean(pcm.getCompressorNotConnectedFault() ||
-														pcm.getCompressorNotConnectedStickyFault());
-			table.getEntry("pcm_currhigh").setBoolean(pcm.getCompressorCurrentTooHighFault() ||
-														pcm.getCompressorCurrentTooHighStickyFault());
-			table.getEntry("pcm_short").setBoolean(pcm.getCompressorShortedFault() ||
-													pcm.getCompressorShortedStickyFault());
-			table.getEntry("ll_fault").setBoolean(!shooter.isVisionConnected());
+			telemetry.set(ballVisionAge, ballVision.getAge() * 1000);
+			telemetry.set(ballVisionLatency, ballVision.getLatest().latency * 1000);
+			telemetry.set(ballVisionFrames, ballVision.getFrames());
+			telemetry.set(ballVisionGrabErrors, ballVision.getGrabErrors());
+			telemetry.set(ballVisionMissedFrames, ballVision.getMissedFrames());
+			telemetry.set(ballVisionCpu, ballVision.getCpuUsage() * 100);
 		}
+		{
+			telemetry.set(loopPeriod, clock.getPeriod() * 1000);
+			telemetry.set(loopJitter, clock.getJitter() * 1000);
+			telemetry.set(loopMaxPeriod, clock.getMaxPeriod() * 1000);
+			telemetry.set(loopOverruns, clock.getOverruns());
+		}
+		{
+			// Each of these is a CAN read, so only read them when they will be sent.
+			if (telemetry.isDue(pcmCurrentLow))
+				telemetry.set(pcmCurrentLow, pcm.getCompressorNotConnectedFault() ||
+												pcm.getCompressorNotConnectedStickyFault());
+			if (telemetry.isDue(pcmCurrentHigh))
+				telemetry.set(pcmCurrentHigh, pcm.getCompressorCurrentTooHighFault() ||
+												pcm.getCompressorCurrentTooHighStickyFault());
+			if (telemetry.isDue(pcmShort))
+				telemetry.set(pcmShort, pcm.getCompressorShortedFault() ||
+										pcm.getCompressorShortedStickyFault());
+			telemetry.set(limelightFault, !shooter.isVisionConnected());
+		}
+		telemetry.flush();
+		profiler.end(telemetrySection);
+
+		ScratchPool.checkLeaks();
+		profiler.end(loopSection);
+		profiler.tick();
 	}
 
 	@Override
 	public void autonomousInit() {
 		activeAutonProfile.reset();
+		poseEstimator.reset();
 	}
 
 	@Override
@@ -428,6 +611,7 @@ public class Robot extends TimedRobot {
 	@Override
 	public void teleopInit() {
 		activeDriverProfile.reset();
+		ballVision.setActive(false);
 	}
 
 	@Override
@@ -436,7 +620,10 @@ public class Robot extends TimedRobot {
 	}
 
 	@Override
-	public void disabledInit() {}
+	public void disabledInit() {
+		// In case auton ended partway through a pickup.
+		ballVision.setActive(false);
+	}
 
 	@Override
 	public void disabledPeriodic() {}
@@ -450,7 +637,7 @@ public class Robot extends TimedRobot {
 
 		if (activeDriverProfile.getSwerveAlign()) {
 			swerveDrive.align();
-			double[] alignments = ArrayPool.reserve(4);
+			double[] alignments = ScratchPool.reserve(4);
 			swerveDrive.getAlignments(alignments);
 			try {
 				NetworkTable table = NetworkTableInstance.getDefault().getTable("swervealignment");
@@ -464,7 +651,7 @@ public class Robot extends TimedRobot {
 				System.err.println("Error saving swerve drive alignment");
 				System.err.println(e);
 			}
-			ArrayPool.release(alignments);
+			ScratchPool.release(alignments);
 		}
 		driverController.setRumble(RumbleType.kLeftRumble, activeDriverProfile.getSwerveAlignRumble() ? 1 : 0);
 
@@ -482,6 +669,7 @@ public class Robot extends TimedRobot {
 	}
 
 	private void applyProfile(ControlProfile profile) {
+		profiler.begin(profileSection);
 		profile.update();
 
 		shooter.setMode(profile.getShooterMode());
@@ -502,6 +690,10 @@ public class Robot extends TimedRobot {
 		}
 		shooter.setFire(profile.getShooterFire());
 		shooter.setUnjam(profile.getShooterUnjam());
+		if (profile.getShotMade())
+			shooter.tagShot(true);
+		else if (profile.getShotMissed())
+			shooter.tagShot(false);
 
 		swerveDrive.setTargetVelocity(profile.getSwerveLinearAngle(),
 										profile.getSwerveLinearSpeed(),
@@ -513,8 +705,11 @@ public class Robot extends TimedRobot {
 		climber.setVelocity(profile.getClimber());
 		climber.setHigh(profile.getClimberHigh());
 
-		if (profile.getOrientRobot())
+		if (profile.getOrientRobot()) {
 			pose.angle = 0;
+			poseEstimator.reset();
+		}
+		profiler.end(profileSection);
 	}
 
 	private void loadConfigs() throws PersistentException {
@@ -525,6 +720,8 @@ public class Robot extends TimedRobot {
 		shooterConfig = ShooterConfig.load(Filesystem.getDeployDirectory() + "/" + SHOOTER_CONFIG_FILE,
 											Filesystem.getDeployDirectory() + "/" + SHOOTER_VISION_POINTS_FILE);
 		climberConfig = ClimberConfig.load(Filesystem.getDeployDirectory() + "/" + CLIMBER_CONFIG_FILE);
+		poseEstimatorConfig = PoseEstimatorConfig.load(Filesystem.getDeployDirectory() + "/" + POSE_ESTIMATOR_CONFIG_FILE);
+		trajectoryConfig = TrajectoryConfig.load(Filesystem.getDeployDirectory() + "/" + TRAJECTORY_CONFIG_FILE);
 	}
 
 	private void applyConfigs() {
@@ -533,5 +730,6 @@ public class Robot extends TimedRobot {
 		ballVision.configure(ballVisionConfig);
 		shooter.configure(shooterConfig);
 		climber.configure(climberConfig);
+		poseEstimator.configure(poseEstimatorConfig);
 	}
 }
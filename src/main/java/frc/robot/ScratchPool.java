@@ -0,0 +1,113 @@
+package frc.robot;
+
+import java.util.IdentityHashMap;
+
+// Per-thread pool of scratch double arrays. Arrays are grouped into power of two size
+// classes so reserve and release are a single push or pop. A reserved array may be
+// longer than requested and is not cleared.
+public final class ScratchPool {
+
+	public static final int MAX_SIZE_CLASS = 8;
+	public static final int MAX_LENGTH = 1 << MAX_SIZE_CLASS;
+	public static final int CLASS_CAPACITY = 16;
+
+	// Run with -Dfrc.robot.scratchdebug=true to record where every leaked array was reserved.
+	public static final boolean DEBUG = Boolean.getBoolean("frc.robot.scratchdebug");
+
+	private static final ThreadLocal<ScratchPool> local = ThreadLocal.withInitial(ScratchPool::new);
+
+	private final double[][][] free = new double[MAX_SIZE_CLASS + 1][CLASS_CAPACITY][];
+	private final int[] freeCount = new int[MAX_SIZE_CLASS + 1];
+	private int outstanding = 0;
+	private final IdentityHashMap<double[], Throwable> reservations = DEBUG ? new IdentityHashMap<>() : null;
+
+	private ScratchPool() {}
+
+	public static double[] reserve(int length) {
+		return local.get().reserveLocal(length);
+	}
+
+	public static void release(double[] array) {
+		local.get().releaseLocal(array);
+	}
+
+	// Number of arrays the calling thread has reserved but not released.
+	public static int outstanding() {
+		return local.get().outstanding;
+	}
+
+	// Meant to be called at the end of a loop iteration, when nothing should be reserved.
+	public static boolean checkLeaks() {
+		return local.get().checkLeaksLocal();
+	}
+
+	private static int sizeClass(int length) {
+		if (length <= 1)
+			return 0;
+		return 32 - Integer.numberOfLeadingZeros(length - 1);
+	}
+
+	private double[] reserveLocal(int length) {
+		if (length < 0)
+			throw new IllegalArgumentException("length is negative");
+
+		double[] array;
+		if (length > MAX_LENGTH) {
+			array = new double[length];
+		} else {
+			int sizeClass = sizeClass(length);
+			int count = freeCount[sizeClass];
+			if (count > 0) {
+				count--;
+				array = free[sizeClass][count];
+				free[sizeClass][count] = null;
+				freeCount[sizeClass] = count;
+			} else {
+				array = new double[1 << sizeClass];
+			}
+		}
+
+		outstanding++;
+		if (DEBUG)
+			reservations.put(array, new Throwable("scratch array reserved here"));
+		return array;
+	}
+
+	private void releaseLocal(double[] array) {
+		if (array == null)
+			throw new IllegalArgumentException("array is null");
+		int length = array.length;
+		if (length <= MAX_LENGTH && Integer.bitCount(length) != 1)
+			throw new IllegalArgumentException("array was not reserved from a scratch pool");
+		if (DEBUG && reservations.remove(array) == null)
+			throw new IllegalArgumentException("array was not reserved by this thread");
+		// Only counted once the array is known to be one of ours, so a bad release
+		// can't throw off the leak check.
+		outstanding--;
+		if (length > MAX_LENGTH)
+			return;
+
+		// Past capacity the array is simply dropped, so a caller that reserves without
+		// releasing can never grow the pool.
+		int sizeClass = sizeClass(length);
+		int count = freeCount[sizeClass];
+		if (count < CLASS_CAPACITY) {
+			free[sizeClass][count] = array;
+			freeCount[sizeClass] = count + 1;
+		}
+	}
+
+	private boolean checkLeaksLocal() {
+		if (outstanding == 0)
+			return false;
+		System.err.println("Scratch pool leak: " + outstanding + " array(s) on " +
+							Thread.currentThread().getName() + " were never released");
+		if (DEBUG) {
+			for (Throwable site : reservations.values())
+				site.printStackTrace();
+			reservations.clear();
+		}
+		outstanding = 0;
+		return true;
+	}
+}
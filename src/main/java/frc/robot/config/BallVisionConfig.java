@@ -10,6 +10,11 @@ public class BallVisionConfig {
 
 	public SlotConfiguration pid;
 
+	// Frames a second the camera thread processes at most, and seconds it waits for a frame
+	// before counting it as an error.
+	public double fps;
+	public double grabTimeout;
+
 	public static BallVisionConfig load(String file) throws PersistentException {
 		NetworkTable table = NetworkTableInstance.getDefault().getTable("/config/ballvision");
 		BallVisionConfig config = new BallVisionConfig();
@@ -24,6 +29,9 @@ public class BallVisionConfig {
 		config.pid.kD = table.getEntry("pid.kd").getDouble(0);
 		config.pid.kF = table.getEntry("pid.kf").getDouble(0);
 
+		config.fps = table.getEntry("fps").getDouble(15);
+		config.grabTimeout = table.getEntry("grabtimeout").getDouble(0.2);
+
 		return config;
 	}
 }
@@ -0,0 +1,101 @@
+package frc.robot.config;
+
+import java.io.ByteArrayInputStream;
+import java.io.DataInput;
+import java.io.DataInputStream;
+import java.io.DataOutput;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.zip.CRC32;
+
+import frc.robot.profiles.auton.planned.AutonPlan;
+
+// JSON files in the deploy directory are compiled at build time into a binary file with
+// the same name ending in .bin, so the robot doesn't have to load Jackson and build a tree
+// to read them at startup. The binary starts with a checksum of the JSON it was made from,
+// and if that doesn't match the JSON on the robot (or there is no binary, like in
+// simulation) the JSON is parsed instead.
+public class CompiledJson {
+
+	public static final int MAGIC = 0x46454453;
+	public static final int VERSION = 2;
+
+	public interface Reader<T> {
+		T read(DataInput input) throws IOException;
+	}
+
+	public interface Writer<T> {
+		void write(T value, DataOutput output) throws IOException;
+	}
+
+	public interface Parser<T> {
+		T parse(byte[] json) throws IOException;
+	}
+
+	public static <T> T load(String file, Reader<T> reader, Parser<T> parser) throws IOException {
+		byte[] json = Files.readAllBytes(Paths.get(file));
+		Path compiled = Paths.get(getCompiledName(file));
+		if (Files.isReadable(compiled)) {
+			try {
+				DataInputStream input = new DataInputStream(new ByteArrayInputStream(Files.readAllBytes(compiled)));
+				if (input.readInt() == MAGIC && input.readInt() == VERSION && input.readLong() == checksum(json))
+					return reader.read(input);
+				System.err.println("Compiled " + file + " is out of date, reading the json");
+			} catch (IOException e) {
+				System.err.println("Error reading compiled " + file + ", reading the json");
+				System.err.println(e);
+			}
+		}
+		return parser.parse(json);
+	}
+
+	public static <T> void compile(String file, File outputDirectory, Parser<T> parser, Writer<T> writer)
+			throws IOException {
+		byte[] json = Files.readAllBytes(Paths.get(file));
+		T value = parser.parse(json);
+		File output = new File(outputDirectory, new File(getCompiledName(file)).getName());
+		try (DataOutputStream stream = new DataOutputStream(Files.newOutputStream(output.toPath()))) {
+			stream.writeInt(MAGIC);
+			stream.writeInt(VERSION);
+			stream.writeLong(checksum(json));
+			writer.write(value, stream);
+		}
+	}
+
+	public static String getCompiledName(String file) {
+		if (file.endsWith(".json"))
+			file = file.substring(0, file.length() - ".json".length());
+		return file + ".bin";
+	}
+
+	private static long checksum(byte[] data) {
+		CRC32 crc = new CRC32();
+		crc.update(data);
+		return crc.getValue();
+	}
+
+	// Run by the build with the output directory followed by type:file pairs.
+	public static void main(String[] args) throws IOException {
+		File outputDirectory = new File(args[0]);
+		outputDirectory.mkdirs();
+		for (int i = 1; i < args.length; i++) {
+			String type = args[i].substring(0, args[i].indexOf(':'));
+			String file = args[i].substring(type.length() + 1);
+			switch (type) {
+				case "autonplan":
+					compile(file, outputDirectory, AutonPlan::parse, AutonPlan::write);
+					break;
+				case "shootervisionpoints":
+					compile(file, outputDirectory, ShooterVisionConfig::parsePoints, ShooterVisionConfig::writePoints);
+					break;
+				default:
+					throw new IllegalArgumentException("unknown type " + type);
+			}
+			System.out.println("Compiled " + file);
+		}
+	}
+}
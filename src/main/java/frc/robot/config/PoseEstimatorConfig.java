@@ -0,0 +1,28 @@
+package frc.robot.config;
+
+import edu.wpi.first.networktables.NetworkTable;
+import edu.wpi.first.networktables.NetworkTableInstance;
+import edu.wpi.first.networktables.PersistentException;
+
+public class PoseEstimatorConfig {
+
+	public double visionGain;
+	public double maxCorrection;
+	public double minDistance;
+	public double maxDistance;
+	public double distanceOffset;
+
+	public static PoseEstimatorConfig load(String file) throws PersistentException {
+		NetworkTable table = NetworkTableInstance.getDefault().getTable("/config/poseestimator");
+		PoseEstimatorConfig config = new PoseEstimatorConfig();
+		table.loadEntries(file);
+
+		config.visionGain = table.getEntry("visiongain").getDouble(0);
+		config.maxCorrection = table.getEntry("maxcorrection").getDouble(0);
+		config.minDistance = table.getEntry("mindistance").getDouble(0);
+		config.maxDistance = table.getEntry("maxdistance").getDouble(0);
+		config.distanceOffset = table.getEntry("distanceoffset").getDouble(0);
+
+		return config;
+	}
+}
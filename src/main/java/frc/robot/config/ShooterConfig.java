@@ -1,16 +1,12 @@
 package frc.robot.config;
 
-import java.io.File;
 import java.io.IOException;
 
 import com.ctre.phoenix.motorcontrol.can.SlotConfiguration;
-import com.fasterxml.jackson.databind.JsonNode;
-import com.fasterxml.jackson.databind.ObjectMapper;
 
 import edu.wpi.first.networktables.NetworkTable;
 import edu.wpi.first.networktables.NetworkTableInstance;
 import edu.wpi.first.networktables.PersistentException;
-import frc.robot.config.ShooterVisionConfig.ShooterVisionPoint;
 
 public class ShooterConfig {
 
@@ -23,6 +19,8 @@ public class ShooterConfig {
 	public double ejectSpeedTop;
 	public double ejectSpeedBottom;
 
+	public boolean recordShots;
+
 	public static ShooterConfig load(String file, String pointsFile) throws PersistentException {
 		NetworkTable table = NetworkTableInstance.getDefault().getTable("/config/shooter");
 		ShooterConfig config = new ShooterConfig();
@@ -34,6 +32,8 @@ public class ShooterConfig {
 
 			config.ejectSpeedTop = table.getEntry("ejectspeedtop").getDouble(0);
 			config.ejectSpeedBottom = table.getEntry("ejectspeedbottom").getDouble(0);
+
+			config.recordShots = table.getEntry("recordshots").getBoolean(false);
 		}
 
 		{
@@ -89,16 +89,13 @@ public class ShooterConfig {
 			config.visionConfig.c = table.getEntry("vision.distancefunc.c").getDouble(0);
 			config.visionConfig.d = table.getEntry("vision.distancefunc.d").getDouble(0);
 			config.visionConfig.speedFactor = table.getEntry("vision.speedfactor").getDouble(1);
+			config.visionConfig.flightTimeBase = table.getEntry("vision.flighttime.base").getDouble(0);
+			config.visionConfig.flightTimeSlope = table.getEntry("vision.flighttime.slope").getDouble(0);
+			config.visionConfig.trackerProcessNoise = table.getEntry("vision.tracker.processnoise").getDouble(1);
+			config.visionConfig.trackerMeasurementNoise = table.getEntry("vision.tracker.measurementnoise").getDouble(0.0001);
+			config.visionConfig.trackerCoastTime = table.getEntry("vision.tracker.coasttime").getDouble(0.3);
 
-			JsonNode speeds = new ObjectMapper().readTree(new File(pointsFile)).get("speeds");
-			config.visionConfig.points = new ShooterVisionPoint[speeds.size()];
-			for (int i = 0; i < speeds.size(); i++) {
-				ShooterVisionPoint point = new ShooterVisionPoint();
-				point.distance = speeds.get(i).get("distance").numberValue().doubleValue();
-				point.topSpeed = speeds.get(i).get("topspeed").numberValue().doubleValue();
-				point.bottomSpeed = speeds.get(i).get("bottomspeed").numberValue().doubleValue();
-				config.visionConfig.points[i] = point;
-			}
+			config.visionConfig.points = ShooterVisionConfig.loadPoints(pointsFile);
 		} catch (IOException e) {
 			throw new PersistentException("io exception reading json");
 		}
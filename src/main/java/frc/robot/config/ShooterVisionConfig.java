@@ -1,6 +1,12 @@
 package frc.robot.config;
 
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+
 import com.ctre.phoenix.motorcontrol.can.SlotConfiguration;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
 
 public class ShooterVisionConfig {
 
@@ -13,6 +19,55 @@ public class ShooterVisionConfig {
 	public double d;
 	public double speedFactor;
 
+	// Seconds from the ball leaving the shooter to it reaching the goal, as base plus slope
+	// times the distance in feet. Zero turns off leading the goal when moving.
+	public double flightTimeBase;
+	public double flightTimeSlope;
+
+	// Target tracker noise, as variances in image units squared, per second cubed for the
+	// process. Coast time is how many seconds the tracker keeps predicting without a frame.
+	public double trackerProcessNoise;
+	public double trackerMeasurementNoise;
+	public double trackerCoastTime;
+
+	public static ShooterVisionPoint[] loadPoints(String file) throws IOException {
+		return CompiledJson.load(file, ShooterVisionConfig::readPoints, json -> parsePoints(json));
+	}
+
+	public static ShooterVisionPoint[] parsePoints(byte[] json) throws IOException {
+		JsonNode speeds = new ObjectMapper().readTree(json).get("speeds");
+		ShooterVisionPoint[] points = new ShooterVisionPoint[speeds.size()];
+		for (int i = 0; i < speeds.size(); i++) {
+			ShooterVisionPoint point = new ShooterVisionPoint();
+			point.distance = speeds.get(i).get("distance").numberValue().doubleValue();
+			point.topSpeed = speeds.get(i).get("topspeed").numberValue().doubleValue();
+			point.bottomSpeed = speeds.get(i).get("bottomspeed").numberValue().doubleValue();
+			points[i] = point;
+		}
+		return points;
+	}
+
+	public static ShooterVisionPoint[] readPoints(DataInput input) throws IOException {
+		ShooterVisionPoint[] points = new ShooterVisionPoint[input.readInt()];
+		for (int i = 0; i < points.length; i++) {
+			ShooterVisionPoint point = new ShooterVisionPoint();
+			point.distance = input.readDouble();
+			point.topSpeed = input.readDouble();
+			point.bottomSpeed = input.readDouble();
+			points[i] = point;
+		}
+		return points;
+	}
+
+	public static void writePoints(ShooterVisionPoint[] points, DataOutput output) throws IOException {
+		output.writeInt(points.length);
+		for (ShooterVisionPoint point : points) {
+			output.writeDouble(point.distance);
+			output.writeDouble(point.topSpeed);
+			output.writeDouble(point.bottomSpeed);
+		}
+	}
+
 	public static class ShooterVisionPoint {
 
 		public double distance;
@@ -0,0 +1,39 @@
+package frc.robot.config;
+
+import edu.wpi.first.networktables.NetworkTable;
+import edu.wpi.first.networktables.NetworkTableInstance;
+import edu.wpi.first.networktables.PersistentException;
+
+public class TrajectoryConfig {
+
+	// Inches per second a wheel moves at full output.
+	public double maxSpeed;
+	// Inches per second squared.
+	public double maxAccel;
+	public double maxCentripetalAccel;
+	// Distance from the centre of the robot to a wheel, in inches.
+	public double turnRadius;
+
+	// Per second, applied to the position and heading errors.
+	public double positionGain;
+	public double angleGain;
+	// Seconds ahead of the current heading to aim the drive direction while turning.
+	public double skewTime;
+
+	public static TrajectoryConfig load(String file) throws PersistentException {
+		NetworkTable table = NetworkTableInstance.getDefault().getTable("/config/trajectory");
+		TrajectoryConfig config = new TrajectoryConfig();
+		table.loadEntries(file);
+
+		config.maxSpeed = table.getEntry("maxspeed").getDouble(1);
+		config.maxAccel = table.getEntry("maxaccel").getDouble(1);
+		config.maxCentripetalAccel = table.getEntry("maxcentripetalaccel").getDouble(1);
+		config.turnRadius = table.getEntry("turnradius").getDouble(1);
+
+		config.positionGain = table.getEntry("positiongain").getDouble(0);
+		config.angleGain = table.getEntry("anglegain").getDouble(0);
+		config.skewTime = table.getEntry("skewtime").getDouble(0);
+
+		return config;
+	}
+}
@@ -0,0 +1,28 @@
+package frc.robot.io;
+
+import org.opencv.core.Mat;
+
+import edu.wpi.first.cscore.CvSink;
+import edu.wpi.first.cscore.VideoSource;
+
+public class CvSinkFrameSource implements IFrameSource {
+
+	private final CvSink sink;
+
+	public CvSinkFrameSource(String name, VideoSource source) {
+		if (source == null)
+			throw new IllegalArgumentException("source is null");
+		sink = new CvSink(name);
+		sink.setSource(source);
+	}
+
+	@Override
+	public long grabFrame(Mat image, double timeout) {
+		return sink.grabFrame(image, timeout);
+	}
+
+	@Override
+	public void setEnabled(boolean enabled) {
+		sink.setEnabled(enabled);
+	}
+}
@@ -0,0 +1,17 @@
+package frc.robot.io;
+
+import edu.wpi.first.wpilibj.DigitalInput;
+
+public class DigitalLimitSwitch implements ILimitSwitch {
+
+	private final DigitalInput input;
+
+	public DigitalLimitSwitch(int channel) {
+		input = new DigitalInput(channel);
+	}
+
+	@Override
+	public boolean get() {
+		return input.get();
+	}
+}
@@ -0,0 +1,26 @@
+package frc.robot.io;
+
+public class FakeEncoder implements IEncoder {
+
+	private double position = 0;
+	private double velocity = 0;
+
+	public void setVelocity(double velocity) {
+		this.velocity = velocity;
+	}
+
+	@Override
+	public double getPosition() {
+		return position;
+	}
+
+	@Override
+	public double getVelocity() {
+		return velocity;
+	}
+
+	@Override
+	public void setPosition(double position) {
+		this.position = position;
+	}
+}
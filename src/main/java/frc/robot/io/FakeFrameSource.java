@@ -0,0 +1,43 @@
+package frc.robot.io;
+
+import org.opencv.core.Mat;
+
+// Hands out frames supplied by the caller. Each frame is given out once, grabFrame waits
+// until the next one is supplied or the timeout runs out.
+public class FakeFrameSource implements IFrameSource {
+
+	private final Object lock = new Object();
+	private final Mat frame = new Mat();
+	private long frameTime = 0;
+	private long grabbedTime = 0;
+
+	// Time in microseconds, it must go up with every frame.
+	public void setFrame(Mat image, long time) {
+		synchronized (lock) {
+			image.copyTo(frame);
+			frameTime = time;
+			lock.notifyAll();
+		}
+	}
+
+	@Override
+	public long grabFrame(Mat image, double timeout) {
+		long deadline = System.nanoTime() + (long) (timeout * 1e9);
+		synchronized (lock) {
+			while (frameTime == grabbedTime) {
+				long remaining = deadline - System.nanoTime();
+				if (remaining <= 0)
+					return 0;
+				try {
+					lock.wait(remaining / 1000000, (int) (remaining % 1000000));
+				} catch (InterruptedException e) {
+					Thread.currentThread().interrupt();
+					return 0;
+				}
+			}
+			frame.copyTo(image);
+			grabbedTime = frameTime;
+			return frameTime;
+		}
+	}
+}
@@ -0,0 +1,19 @@
+package frc.robot.io;
+
+public class FakeGyro implements IGyro {
+
+	private double yaw = 0;
+
+	public void setYaw(double yaw) {
+		this.yaw = yaw;
+	}
+
+	public void addYaw(double yawDelta) {
+		yaw += yawDelta;
+	}
+
+	@Override
+	public double getYaw() {
+		return yaw;
+	}
+}
@@ -0,0 +1,41 @@
+package frc.robot.io;
+
+import java.util.HashMap;
+
+// Hands out fakes and keeps them by channel, so whatever is simulating the robot can get
+// hold of the same devices the subsystems were given.
+public class FakeHardware implements IHardware {
+
+	private final HashMap<Integer, FakeMotorController> talonFXs = new HashMap<>();
+	private final HashMap<Integer, FakeMotorController> talonSRXs = new HashMap<>();
+	private final HashMap<Integer, FakeGyro> pigeons = new HashMap<>();
+	private final HashMap<Integer, FakeLimitSwitch> digitalInputs = new HashMap<>();
+	private FakeFrameSource camera;
+
+	@Override
+	public FakeMotorController getTalonFX(int channel) {
+		return talonFXs.computeIfAbsent(channel, c -> new FakeMotorController());
+	}
+
+	@Override
+	public FakeMotorController getTalonSRX(int channel) {
+		return talonSRXs.computeIfAbsent(channel, c -> new FakeMotorController());
+	}
+
+	@Override
+	public FakeGyro getPigeon2(int channel) {
+		return pigeons.computeIfAbsent(channel, c -> new FakeGyro());
+	}
+
+	@Override
+	public FakeLimitSwitch getDigitalInput(int channel) {
+		return digitalInputs.computeIfAbsent(channel, c -> new FakeLimitSwitch());
+	}
+
+	@Override
+	public FakeFrameSource getCamera(int width, int height, int fps) {
+		if (camera == null)
+			camera = new FakeFrameSource();
+		return camera;
+	}
+}
@@ -0,0 +1,15 @@
+package frc.robot.io;
+
+public class FakeLimitSwitch implements ILimitSwitch {
+
+	private boolean value = false;
+
+	public void set(boolean value) {
+		this.value = value;
+	}
+
+	@Override
+	public boolean get() {
+		return value;
+	}
+}
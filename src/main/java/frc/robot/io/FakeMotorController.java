@@ -0,0 +1,74 @@
+package frc.robot.io;
+
+import java.util.function.Consumer;
+
+// Remembers what it was told to do and reports whatever its encoders were set to. Something
+// else, a simulation, is expected to read the output and move the encoders.
+public class FakeMotorController implements IMotorController {
+
+	public enum Mode {
+		NEUTRAL, PERCENT_OUTPUT, POSITION, VELOCITY
+	}
+
+	private final FakeEncoder encoder = new FakeEncoder();
+	private final FakeEncoder auxiliaryEncoder = new FakeEncoder();
+
+	private Mode mode = Mode.NEUTRAL;
+	private double value = 0;
+	private FakeMotorController leader;
+
+	@Override
+	public void setPercentOutput(double output) {
+		set(Mode.PERCENT_OUTPUT, output);
+	}
+
+	@Override
+	public void setPositionTarget(double position) {
+		set(Mode.POSITION, position);
+	}
+
+	@Override
+	public void setVelocityTarget(double velocity) {
+		set(Mode.VELOCITY, velocity);
+	}
+
+	@Override
+	public void neutralOutput() {
+		set(Mode.NEUTRAL, 0);
+	}
+
+	@Override
+	public void follow(IMotorController leader) {
+		if (!(leader instanceof FakeMotorController))
+			throw new IllegalArgumentException("leader is not a fake");
+		this.leader = (FakeMotorController) leader;
+	}
+
+	public Mode getMode() {
+		return leader != null ? leader.getMode() : mode;
+	}
+
+	// The output or target for the current mode.
+	public double getValue() {
+		return leader != null ? leader.getValue() : value;
+	}
+
+	@Override
+	public FakeEncoder getEncoder() {
+		return encoder;
+	}
+
+	@Override
+	public FakeEncoder getAuxiliaryEncoder() {
+		return auxiliaryEncoder;
+	}
+
+	@Override
+	public <T> void configure(Class<T> type, Consumer<T> settings) {}
+
+	private void set(Mode mode, double value) {
+		this.mode = mode;
+		this.value = value;
+		leader = null;
+	}
+}
@@ -0,0 +1,12 @@
+package frc.robot.io;
+
+public interface IEncoder {
+
+	// Sensor units, the same ones the motor controllers use for closed loop targets.
+	public double getPosition();
+
+	// Sensor units per 100 ms.
+	public double getVelocity();
+
+	public void setPosition(double position);
+}
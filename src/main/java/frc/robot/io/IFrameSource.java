@@ -0,0 +1,13 @@
+package frc.robot.io;
+
+import org.opencv.core.Mat;
+
+public interface IFrameSource {
+
+	// Waits up to timeout seconds for the next frame and copies it into image. Returns the
+	// frame time in microseconds, or 0 if there was an error or no frame came in time.
+	public long grabFrame(Mat image, double timeout);
+
+	// A disabled source stops taking in frames until it is enabled again.
+	public default void setEnabled(boolean enabled) {}
+}
@@ -0,0 +1,7 @@
+package frc.robot.io;
+
+public interface IGyro {
+
+	// Degrees, counter-clockwise positive.
+	public double getYaw();
+}
@@ -0,0 +1,16 @@
+package frc.robot.io;
+
+// Everything the robot talks to goes through here, so the same robot code can run against
+// real devices on the roboRIO or against fakes on a desktop.
+public interface IHardware {
+
+	public IMotorController getTalonFX(int channel);
+
+	public IMotorController getTalonSRX(int channel);
+
+	public IGyro getPigeon2(int channel);
+
+	public ILimitSwitch getDigitalInput(int channel);
+
+	public IFrameSource getCamera(int width, int height, int fps);
+}
@@ -0,0 +1,7 @@
+package frc.robot.io;
+
+public interface ILimitSwitch {
+
+	// The raw input, true when the circuit is open.
+	public boolean get();
+}
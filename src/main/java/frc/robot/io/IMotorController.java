@@ -0,0 +1,28 @@
+package frc.robot.io;
+
+import java.util.function.Consumer;
+
+public interface IMotorController {
+
+	// -1 to 1.
+	public void setPercentOutput(double output);
+
+	// Closed loop targets, in the units of the primary encoder.
+	public void setPositionTarget(double position);
+
+	public void setVelocityTarget(double velocity);
+
+	public void neutralOutput();
+
+	// Mirrors the leader's output from now on.
+	public void follow(IMotorController leader);
+
+	public IEncoder getEncoder();
+
+	// The second feedback sensor, a remote one on swerve steering.
+	public IEncoder getAuxiliaryEncoder();
+
+	// Runs the settings on the underlying device if it is of the given type. Vendor specific
+	// settings stay with the subsystem that needs them, and fakes skip them.
+	public <T> void configure(Class<T> type, Consumer<T> settings);
+}
@@ -0,0 +1,17 @@
+package frc.robot.io;
+
+import com.ctre.phoenix.sensors.Pigeon2;
+
+public class Pigeon2Gyro implements IGyro {
+
+	private final Pigeon2 pigeon;
+
+	public Pigeon2Gyro(int channel) {
+		pigeon = new Pigeon2(channel);
+	}
+
+	@Override
+	public double getYaw() {
+		return pigeon.getYaw();
+	}
+}
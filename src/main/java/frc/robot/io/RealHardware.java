@@ -0,0 +1,47 @@
+package frc.robot.io;
+
+import java.util.HashMap;
+
+import com.ctre.phoenix.motorcontrol.can.TalonFX;
+import com.ctre.phoenix.motorcontrol.can.TalonSRX;
+
+import edu.wpi.first.cameraserver.CameraServer;
+import edu.wpi.first.cscore.UsbCamera;
+import edu.wpi.first.cscore.VideoMode.PixelFormat;
+
+// Keeps devices by CAN ID or channel like the fake does, so asking for one twice hands back
+// the same object rather than a second one talking to the same device.
+public class RealHardware implements IHardware {
+
+	private final HashMap<Integer, IMotorController> talonFXs = new HashMap<>();
+	private final HashMap<Integer, IMotorController> talonSRXs = new HashMap<>();
+	private final HashMap<Integer, IGyro> pigeons = new HashMap<>();
+	private final HashMap<Integer, ILimitSwitch> digitalInputs = new HashMap<>();
+
+	@Override
+	public IMotorController getTalonFX(int channel) {
+		return talonFXs.computeIfAbsent(channel, c -> new TalonMotorController(new TalonFX(c)));
+	}
+
+	@Override
+	public IMotorController getTalonSRX(int channel) {
+		return talonSRXs.computeIfAbsent(channel, c -> new TalonMotorController(new TalonSRX(c)));
+	}
+
+	@Override
+	public IGyro getPigeon2(int channel) {
+		return pigeons.computeIfAbsent(channel, c -> new Pigeon2Gyro(c));
+	}
+
+	@Override
+	public ILimitSwitch getDigitalInput(int channel) {
+		return digitalInputs.computeIfAbsent(channel, c -> new DigitalLimitSwitch(c));
+	}
+
+	@Override
+	public IFrameSource getCamera(int width, int height, int fps) {
+		UsbCamera camera = CameraServer.startAutomaticCapture();
+		camera.setVideoMode(PixelFormat.kMJPEG, width, height, fps);
+		return new CvSinkFrameSource("Auton CvSink", camera);
+	}
+}
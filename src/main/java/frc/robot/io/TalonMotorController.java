@@ -0,0 +1,88 @@
+package frc.robot.io;
+
+import java.util.function.Consumer;
+
+import com.ctre.phoenix.motorcontrol.ControlMode;
+import com.ctre.phoenix.motorcontrol.can.BaseTalon;
+
+public class TalonMotorController implements IMotorController {
+
+	private final BaseTalon talon;
+	private final IEncoder encoder;
+	private final IEncoder auxiliaryEncoder;
+
+	public TalonMotorController(BaseTalon talon) {
+		if (talon == null)
+			throw new IllegalArgumentException("talon is null");
+		this.talon = talon;
+		encoder = new TalonEncoder(0);
+		auxiliaryEncoder = new TalonEncoder(1);
+	}
+
+	@Override
+	public void setPercentOutput(double output) {
+		talon.set(ControlMode.PercentOutput, output);
+	}
+
+	@Override
+	public void setPositionTarget(double position) {
+		talon.set(ControlMode.Position, position);
+	}
+
+	@Override
+	public void setVelocityTarget(double velocity) {
+		talon.set(ControlMode.Velocity, velocity);
+	}
+
+	@Override
+	public void neutralOutput() {
+		talon.neutralOutput();
+	}
+
+	@Override
+	public void follow(IMotorController leader) {
+		if (!(leader instanceof TalonMotorController))
+			throw new IllegalArgumentException("leader is not a Talon");
+		talon.follow(((TalonMotorController) leader).talon);
+	}
+
+	@Override
+	public IEncoder getEncoder() {
+		return encoder;
+	}
+
+	@Override
+	public IEncoder getAuxiliaryEncoder() {
+		return auxiliaryEncoder;
+	}
+
+	@Override
+	public <T> void configure(Class<T> type, Consumer<T> settings) {
+		if (type.isInstance(talon))
+			settings.accept(type.cast(talon));
+	}
+
+	private class TalonEncoder implements IEncoder {
+
+		private final int pidIndex;
+
+		public TalonEncoder(int pidIndex) {
+			this.pidIndex = pidIndex;
+		}
+
+		@Override
+		public double getPosition() {
+			return talon.getSelectedSensorPosition(pidIndex);
+		}
+
+		@Override
+		public double getVelocity() {
+			return talon.getSelectedSensorVelocity(pidIndex);
+		}
+
+		@Override
+		public void setPosition(double position) {
+			talon.setSelectedSensorPosition(position, pidIndex, 0);
+		}
+	}
+}
@@ -19,6 +19,8 @@ public abstract class ControlProfile {
 	protected boolean shooterUnjam = false;
 	protected boolean decreaseShooterDistance = false;
 	protected boolean increaseShooterDistance = false;
+	protected boolean shotMade = false;
+	protected boolean shotMissed = false;
 
 	protected double climber = 0;
 	protected boolean climberHigh = false;
@@ -53,6 +55,8 @@ public abstract class ControlProfile {
 		shooterUnjam = false;
 		decreaseShooterDistance = false;
 		increaseShooterDistance = false;
+		shotMade = false;
+		shotMissed = false;
 
 		climber = 0;
 		climberHigh = false;
@@ -116,6 +120,14 @@ public abstract class ControlProfile {
 		return increaseShooterDistance;
 	}
 
+	public boolean getShotMade() {
+		return shotMade;
+	}
+
+	public boolean getShotMissed() {
+		return shotMissed;
+	}
+
 	public double getClimber() {
 		return climber;
 	}
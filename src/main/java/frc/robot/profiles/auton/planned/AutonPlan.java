@@ -1,18 +1,28 @@
 package frc.robot.profiles.auton.planned;
 
-import java.io.File;
+import java.io.DataInput;
+import java.io.DataOutput;
 import java.io.IOException;
 
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
 
+import frc.robot.config.CompiledJson;
+import frc.robot.shooter.ShooterMode;
+
 public class AutonPlan {
 
 	public AutonStartPoint start;
 	public AutonPlanPoint[] points;
+	public AutonPlanStep sequence;
 
 	public static AutonPlan load(String file) throws IOException {
-		JsonNode root = new ObjectMapper().readTree(new File(file));
+		// Going through a lambda keeps Jackson from being loaded unless it's needed.
+		return CompiledJson.load(file, AutonPlan::read, json -> parse(json));
+	}
+
+	public static AutonPlan parse(byte[] json) throws IOException {
+		JsonNode root = new ObjectMapper().readTree(json);
 		AutonPlan result = new AutonPlan();
 		{
 			JsonNode node = root.get("start");
@@ -37,16 +47,122 @@ public class AutonPlan {
 				point.linearCruise = array.get(i).get("linearcruise").numberValue().doubleValue();
 				point.rotateCruise = array.get(i).get("rotatecruise").numberValue().doubleValue();
 
-				point.linearRamp = array.get(i).get("linearramp").numberValue().doubleValue();
-				point.rotateRamp = array.get(i).get("rotateramp").numberValue().doubleValue();
+				// Points are stopped at unless the plan says the robot can drive through.
+				point.stop = !array.get(i).has("stop") || array.get(i).get("stop").booleanValue();
 
 				plan[i] = point;
 			}
 			result.points = plan;
 		}
+		{
+			// The sequence is a list of steps run one after the other.
+			AutonPlanStep sequence = new AutonPlanStep();
+			sequence.type = "sequence";
+			sequence.steps = parseSteps(root.get("sequence"));
+			result.sequence = sequence;
+		}
+		return result;
+	}
+
+	private static AutonPlanStep[] parseSteps(JsonNode array) {
+		if (array == null)
+			return new AutonPlanStep[0];
+		AutonPlanStep[] steps = new AutonPlanStep[array.size()];
+		for (int i = 0; i < array.size(); i++) {
+			JsonNode node = array.get(i);
+			AutonPlanStep step = new AutonPlanStep();
+
+			step.type = node.get("type").textValue();
+			if (node.has("point"))
+				step.point = node.get("point").numberValue().intValue();
+			if (node.has("position"))
+				step.position = node.get("position").numberValue().doubleValue();
+			if (node.has("angle"))
+				step.angle = node.get("angle").numberValue().doubleValue();
+			if (node.has("deploy"))
+				step.deploy = node.get("deploy").booleanValue();
+			if (node.has("active"))
+				step.active = node.get("active").booleanValue();
+			if (node.has("mode"))
+				step.mode = ShooterMode.valueOf(node.get("mode").textValue());
+			if (node.has("time"))
+				step.time = node.get("time").numberValue().doubleValue();
+			step.steps = parseSteps(node.get("steps"));
+
+			steps[i] = step;
+		}
+		return steps;
+	}
+
+	public static AutonPlan read(DataInput input) throws IOException {
+		AutonPlan result = new AutonPlan();
+		result.start = new AutonStartPoint();
+		result.start.x = input.readDouble();
+		result.start.y = input.readDouble();
+		result.start.angle = input.readDouble();
+
+		result.points = new AutonPlanPoint[input.readInt()];
+		for (int i = 0; i < result.points.length; i++) {
+			AutonPlanPoint point = new AutonPlanPoint();
+			point.x = input.readDouble();
+			point.y = input.readDouble();
+			point.angle = input.readDouble();
+			point.linearCruise = input.readDouble();
+			point.rotateCruise = input.readDouble();
+			point.stop = input.readBoolean();
+			result.points[i] = point;
+		}
+		result.sequence = readStep(input);
 		return result;
 	}
 
+	private static AutonPlanStep readStep(DataInput input) throws IOException {
+		AutonPlanStep step = new AutonPlanStep();
+		step.type = input.readUTF();
+		step.point = input.readInt();
+		step.position = input.readDouble();
+		step.angle = input.readDouble();
+		step.deploy = input.readBoolean();
+		step.active = input.readBoolean();
+		step.mode = ShooterMode.values()[input.readByte()];
+		step.time = input.readDouble();
+		step.steps = new AutonPlanStep[input.readInt()];
+		for (int i = 0; i < step.steps.length; i++)
+			step.steps[i] = readStep(input);
+		return step;
+	}
+
+	public static void write(AutonPlan plan, DataOutput output) throws IOException {
+		output.writeDouble(plan.start.x);
+		output.writeDouble(plan.start.y);
+		output.writeDouble(plan.start.angle);
+
+		output.writeInt(plan.points.length);
+		for (AutonPlanPoint point : plan.points) {
+			output.writeDouble(point.x);
+			output.writeDouble(point.y);
+			output.writeDouble(point.angle);
+			output.writeDouble(point.linearCruise);
+			output.writeDouble(point.rotateCruise);
+			output.writeBoolean(point.stop);
+		}
+		writeStep(plan.sequence, output);
+	}
+
+	private static void writeStep(AutonPlanStep step, DataOutput output) throws IOException {
+		output.writeUTF(step.type);
+		output.writeInt(step.point);
+		output.writeDouble(step.position);
+		output.writeDouble(step.angle);
+		output.writeBoolean(step.deploy);
+		output.writeBoolean(step.active);
+		output.writeByte(step.mode.ordinal());
+		output.writeDouble(step.time);
+		output.writeInt(step.steps.length);
+		for (AutonPlanStep child : step.steps)
+			writeStep(child, output);
+	}
+
 	public static class AutonStartPoint {
 
 		public double x;
@@ -63,7 +179,29 @@ public class AutonPlan {
 		public double linearCruise;
 		public double rotateCruise;
 
-		public double linearRamp;
-		public double rotateRamp;
+		public boolean stop;
+	}
+
+	// One node of the auton sequence. Which fields are used depends on the type, see
+	// AutonStep.create.
+	public static class AutonPlanStep {
+
+		public String type;
+
+		public int point;
+		// Tolerances, in inches and turns. A drive step with neither finishes as soon as it
+		// has moved on to its point.
+		public double position = Double.POSITIVE_INFINITY;
+		public double angle = Double.POSITIVE_INFINITY;
+
+		public boolean deploy;
+		public boolean active;
+
+		public ShooterMode mode = ShooterMode.HIGH_GOAL_VISION;
+
+		// Seconds.
+		public double time;
+
+		public AutonPlanStep[] steps = new AutonPlanStep[0];
 	}
 }
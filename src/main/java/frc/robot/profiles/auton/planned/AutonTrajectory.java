@@ -0,0 +1,320 @@
+package frc.robot.profiles.auton.planned;
+
+import frc.robot.config.TrajectoryConfig;
+import frc.robot.profiles.auton.planned.AutonPlan.AutonPlanPoint;
+
+// A plan turned into a timed path, generated once when the plan is loaded. The knots are
+// the start and every plan point, joined by Hermite splines. Knots marked as stops are
+// reached at rest, the rest are driven through where the path on both sides of them
+// moves. Speed along the path is capped by the plan's linear cruise, the wheel speed and
+// the centripetal acceleration at each sample, and then a forward and a backward pass
+// limit acceleration. Heading runs its own profile for each segment, at the plan's rotate
+// cruise, so a slow turn doesn't hold the driving back; where the path comes to rest it
+// waits for the turn to finish. The result is resampled at the loop period into one flat
+// array, so sampling at any time is an index and a lerp.
+public class AutonTrajectory {
+
+	// Spacing of the samples the speed limits are worked out on, in inches.
+	public static final double RESOLUTION = 0.5;
+	// A plan cruise of zero still has to let the robot move a little.
+	public static final double MIN_CRUISE = 0.05;
+
+	private static final int X = 0;
+	private static final int Y = 1;
+	private static final int ANGLE = 2;
+	private static final int VELOCITY_X = 3;
+	private static final int VELOCITY_Y = 4;
+	private static final int ANGULAR_VELOCITY = 5;
+	private static final int STRIDE = 6;
+
+	private final AutonPlan plan;
+	private final TrajectoryConfig config;
+	private final double period;
+	private final double[] samples;
+	private final int sampleCount;
+	private final double[] knotTimes;
+	private final boolean[] stops;
+	private final double[] tangentX;
+	private final double[] tangentY;
+
+	private AutonTrajectory(AutonPlan plan, TrajectoryConfig config, double period, double[] samples,
+							double[] knotTimes, boolean[] stops, double[] tangentX, double[] tangentY) {
+		this.plan = plan;
+		this.config = config;
+		this.period = period;
+		this.samples = samples;
+		this.sampleCount = samples.length / STRIDE;
+		this.knotTimes = knotTimes;
+		this.stops = stops;
+		this.tangentX = tangentX;
+		this.tangentY = tangentY;
+	}
+
+	public static AutonTrajectory generate(AutonPlan plan, TrajectoryConfig config, double period) {
+		if (plan == null)
+			throw new IllegalArgumentException("plan is null");
+		if (config == null)
+			throw new IllegalArgumentException("config is null");
+		if (period <= 0)
+			throw new IllegalArgumentException("period is not positive");
+		if (plan.points.length == 0)
+			throw new IllegalArgumentException("plan is empty");
+
+		int knots = plan.points.length + 1;
+		double[] knotX = new double[knots];
+		double[] knotY = new double[knots];
+		double[] knotAngles = new double[knots];
+		boolean[] stops = new boolean[knots];
+		knotX[0] = plan.start.x;
+		knotY[0] = plan.start.y;
+		knotAngles[0] = plan.start.angle;
+		stops[0] = true;
+		for (int i = 1; i < knots; i++) {
+			AutonPlanPoint point = plan.points[i - 1];
+			knotX[i] = point.x;
+			knotY[i] = point.y;
+			knotAngles[i] = point.angle;
+			stops[i] = point.stop || i == knots - 1;
+		}
+
+		// Tangents per inch of path, only carried through knots with movement on both sides.
+		double[] tangentX = new double[knots];
+		double[] tangentY = new double[knots];
+		boolean[] rests = new boolean[knots];
+		for (int i = 0; i < knots; i++) {
+			rests[i] = true;
+			if (stops[i])
+				continue;
+			double before = Math.hypot(knotX[i] - knotX[i - 1], knotY[i] - knotY[i - 1]);
+			double after = Math.hypot(knotX[i + 1] - knotX[i], knotY[i + 1] - knotY[i]);
+			if (before == 0 || after == 0)
+				continue;
+			tangentX[i] = (knotX[i + 1] - knotX[i - 1]) / (before + after);
+			tangentY[i] = (knotY[i + 1] - knotY[i - 1]) / (before + after);
+			rests[i] = tangentX[i] == 0 && tangentY[i] == 0;
+		}
+
+		int count = 1;
+		int[] knotSamples = new int[knots];
+		for (int i = 0; i < knots - 1; i++) {
+			knotSamples[i] = count - 1;
+			count += segmentSamples(knotX, knotY, i);
+		}
+		knotSamples[knots - 1] = count - 1;
+
+		// Position, direction, arc length and speed limit at every sample along the path.
+		double[] x = new double[count];
+		double[] y = new double[count];
+		double[] directionX = new double[count];
+		double[] directionY = new double[count];
+		double[] arc = new double[count];
+		double[] speed = new double[count];
+		double[] derivative = new double[4];
+		for (int i = 0; i < knots - 1; i++) {
+			double length = Math.hypot(knotX[i + 1] - knotX[i], knotY[i + 1] - knotY[i]);
+			double cruise = Math.max(plan.points[i].linearCruise, MIN_CRUISE) * config.maxSpeed;
+			int n = segmentSamples(knotX, knotY, i);
+			for (int j = 0; j < n; j++) {
+				int sample = knotSamples[i] + j;
+				double u = (double) j / n;
+				x[sample] = hermite(knotX[i], knotX[i + 1], tangentX[i] * length, tangentX[i + 1] * length, u);
+				y[sample] = hermite(knotY[i], knotY[i + 1], tangentY[i] * length, tangentY[i + 1] * length, u);
+				hermiteDerivatives(knotX[i], knotX[i + 1], tangentX[i] * length, tangentX[i + 1] * length, u,
+									derivative, 0);
+				hermiteDerivatives(knotY[i], knotY[i + 1], tangentY[i] * length, tangentY[i + 1] * length, u,
+									derivative, 2);
+				if (sample > 0)
+					arc[sample] = arc[sample - 1] + Math.hypot(x[sample] - x[sample - 1], y[sample] - y[sample - 1]);
+
+				double dx = derivative[0];
+				double dy = derivative[2];
+				double magnitude = Math.hypot(dx, dy);
+				speed[sample] = cruise;
+				if (magnitude > 1e-9) {
+					directionX[sample] = dx / magnitude;
+					directionY[sample] = dy / magnitude;
+					double curvature = Math.abs(dx * derivative[3] - dy * derivative[1]) /
+										(magnitude * magnitude * magnitude);
+					if (curvature > 1e-9)
+						speed[sample] = Math.min(speed[sample], Math.sqrt(config.maxCentripetalAccel / curvature));
+				}
+			}
+		}
+		x[count - 1] = knotX[knots - 1];
+		y[count - 1] = knotY[knots - 1];
+		if (count > 1)
+			arc[count - 1] = arc[count - 2] + Math.hypot(x[count - 1] - x[count - 2], y[count - 1] - y[count - 2]);
+		for (int i = 0; i < knots; i++) {
+			if (rests[i])
+				speed[knotSamples[i]] = 0;
+		}
+
+		for (int i = 1; i < count; i++)
+			speed[i] = Math.min(speed[i], Math.sqrt(speed[i - 1] * speed[i - 1] +
+														2 * config.maxAccel * (arc[i] - arc[i - 1])));
+		for (int i = count - 2; i >= 0; i--)
+			speed[i] = Math.min(speed[i], Math.sqrt(speed[i + 1] * speed[i + 1] +
+														2 * config.maxAccel * (arc[i + 1] - arc[i])));
+
+		// Arrival time at every sample, and departure time, which is later where the path
+		// waits at rest for the heading to catch up.
+		double turnDistance = config.turnRadius * Math.PI * 2;
+		double[] arrivals = new double[count];
+		double[] departures = new double[count];
+		double[] turnStarts = new double[knots - 1];
+		double[] turnTimes = new double[knots - 1];
+		double[] turnSpeeds = new double[knots - 1];
+		double[] knotTimes = new double[knots];
+		double turnEnd = 0;
+		for (int i = 0; i < knots - 1; i++) {
+			double depart = departures[knotSamples[i]];
+			knotTimes[i] = depart;
+
+			turnSpeeds[i] = Math.max(plan.points[i].rotateCruise, MIN_CRUISE) * config.maxSpeed / turnDistance;
+			turnStarts[i] = Math.max(depart, turnEnd);
+			turnTimes[i] = profileTime(Math.abs(knotAngles[i + 1] - knotAngles[i]), turnSpeeds[i],
+										config.maxAccel / turnDistance);
+			turnEnd = turnStarts[i] + turnTimes[i];
+
+			for (int sample = knotSamples[i] + 1; sample <= knotSamples[i + 1]; sample++) {
+				double ds = arc[sample] - arc[sample - 1];
+				double v = speed[sample - 1] + speed[sample];
+				arrivals[sample] = departures[sample - 1] + (v > 0 ? 2 * ds / v : 0);
+				departures[sample] = arrivals[sample];
+			}
+			int end = knotSamples[i + 1];
+			if (rests[i + 1])
+				departures[end] = Math.max(arrivals[end], turnEnd);
+		}
+		knotTimes[knots - 1] = departures[count - 1];
+
+		// Resample at the loop period.
+		double totalTime = knotTimes[knots - 1];
+		int outputs = (int) Math.ceil(totalTime / period) + 1;
+		double[] samples = new double[outputs * STRIDE];
+		int from = 0;
+		int turn = 0;
+		for (int i = 0; i < outputs; i++) {
+			double time = Math.min(i * period, totalTime);
+			while (from < count - 1 && arrivals[from + 1] <= time)
+				from++;
+			int to = Math.min(from + 1, count - 1);
+			double span = arrivals[to] - departures[from];
+			double f = span > 0 ? Math.min(Math.max((time - departures[from]) / span, 0), 1) : 0;
+			double v = time < departures[from] ? speed[from] : speed[from] + (speed[to] - speed[from]) * f;
+
+			while (turn < knots - 2 && turnStarts[turn + 1] <= time)
+				turn++;
+			double distance = Math.abs(knotAngles[turn + 1] - knotAngles[turn]);
+			double sign = Math.signum(knotAngles[turn + 1] - knotAngles[turn]);
+			double turnAccel = config.maxAccel / turnDistance;
+			double turnSpeed = Math.min(turnSpeeds[turn], Math.sqrt(distance * turnAccel));
+			double t = Math.min(Math.max(time - turnStarts[turn], 0), turnTimes[turn]);
+			double accelTime = turnSpeed / turnAccel;
+			double turned;
+			double angularVelocity;
+			if (t < accelTime) {
+				turned = turnAccel * t * t / 2;
+				angularVelocity = turnAccel * t;
+			} else if (t > turnTimes[turn] - accelTime) {
+				double left = turnTimes[turn] - t;
+				turned = distance - turnAccel * left * left / 2;
+				angularVelocity = turnAccel * left;
+			} else {
+				turned = turnSpeed * (t - accelTime / 2);
+				angularVelocity = turnSpeed;
+			}
+
+			int offset = i * STRIDE;
+			samples[offset + X] = x[from] + (x[to] - x[from]) * f;
+			samples[offset + Y] = y[from] + (y[to] - y[from]) * f;
+			samples[offset + ANGLE] = knotAngles[turn] + sign * Math.min(turned, distance);
+			samples[offset + VELOCITY_X] = v * (directionX[from] + (directionX[to] - directionX[from]) * f);
+			samples[offset + VELOCITY_Y] = v * (directionY[from] + (directionY[to] - directionY[from]) * f);
+			samples[offset + ANGULAR_VELOCITY] = sign * angularVelocity;
+		}
+
+		return new AutonTrajectory(plan, config, period, samples, knotTimes, stops, tangentX, tangentY);
+	}
+
+	private static int segmentSamples(double[] knotX, double[] knotY, int segment) {
+		double length = Math.hypot(knotX[segment + 1] - knotX[segment], knotY[segment + 1] - knotY[segment]);
+		return Math.max(1, (int) Math.ceil(length / RESOLUTION));
+	}
+
+	// Cubic Hermite between two knots, with the tangents already scaled to the segment.
+	private static double hermite(double from, double to, double fromTangent, double toTangent, double u) {
+		double u2 = u * u;
+		double u3 = u2 * u;
+		return (2 * u3 - 3 * u2 + 1) * from + (u3 - 2 * u2 + u) * fromTangent +
+				(-2 * u3 + 3 * u2) * to + (u3 - u2) * toTangent;
+	}
+
+	// First and second derivatives into output[offset] and output[offset + 1].
+	private static void hermiteDerivatives(double from, double to, double fromTangent, double toTangent,
+											double u, double[] output, int offset) {
+		double u2 = u * u;
+		output[offset] = (6 * u2 - 6 * u) * from + (3 * u2 - 4 * u + 1) * fromTangent +
+							(-6 * u2 + 6 * u) * to + (3 * u2 - 2 * u) * toTangent;
+		output[offset + 1] = (12 * u - 6) * from + (6 * u - 4) * fromTangent + (-12 * u + 6) * to +
+								(6 * u - 2) * toTangent;
+	}
+
+	// Time to cover a distance from rest to rest with a trapezoidal profile.
+	private static double profileTime(double distance, double speed, double accel) {
+		if (distance * accel >= speed * speed)
+			return distance / speed + speed / accel;
+		return 2 * Math.sqrt(distance / accel);
+	}
+
+	// Where the robot should be at a time since the start, held at the ends.
+	public void sample(double time, AutonTrajectoryState output) {
+		double position = Math.max(time, 0) / period;
+		int index = (int) position;
+		if (index >= sampleCount - 1) {
+			index = sampleCount - 1;
+			position = index;
+		}
+		int next = Math.min(index + 1, sampleCount - 1);
+		double f = position - index;
+		int a = index * STRIDE;
+		int b = next * STRIDE;
+
+		output.x = samples[a + X] + (samples[b + X] - samples[a + X]) * f;
+		output.y = samples[a + Y] + (samples[b + Y] - samples[a + Y]) * f;
+		output.angle = samples[a + ANGLE] + (samples[b + ANGLE] - samples[a + ANGLE]) * f;
+		output.velocityX = samples[a + VELOCITY_X] + (samples[b + VELOCITY_X] - samples[a + VELOCITY_X]) * f;
+		output.velocityY = samples[a + VELOCITY_Y] + (samples[b + VELOCITY_Y] - samples[a + VELOCITY_Y]) * f;
+		output.angularVelocity = samples[a + ANGULAR_VELOCITY] +
+									(samples[b + ANGULAR_VELOCITY] - samples[a + ANGULAR_VELOCITY]) * f;
+	}
+
+	// Time the path reaches the first plan point from this one on where it stops.
+	public double getStopTime(int point) {
+		int knot = point + 1;
+		while (!stops[knot])
+			knot++;
+		return knotTimes[knot];
+	}
+
+	// Direction the path goes through a plan point, zero where it comes to rest there.
+	public double getPointTangentX(int point) {
+		return tangentX[point + 1];
+	}
+
+	public double getPointTangentY(int point) {
+		return tangentY[point + 1];
+	}
+
+	public double getTotalTime() {
+		return knotTimes[knotTimes.length - 1];
+	}
+
+	public AutonPlan getPlan() {
+		return plan;
+	}
+
+	public TrajectoryConfig getConfig() {
+		return config;
+	}
+}
@@ -0,0 +1,14 @@
+package frc.robot.profiles.auton.planned;
+
+public class AutonTrajectoryState {
+
+	// Field relative, in inches and turns.
+	public double x;
+	public double y;
+	public double angle;
+
+	// Per second.
+	public double velocityX;
+	public double velocityY;
+	public double angularVelocity;
+}
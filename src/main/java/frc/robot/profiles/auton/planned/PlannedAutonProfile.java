@@ -1,29 +1,45 @@
 package frc.robot.profiles.auton.planned;
 
+import frc.robot.LoopClock;
+import frc.robot.config.TrajectoryConfig;
 import frc.robot.profiles.ControlProfile;
 import frc.robot.profiles.auton.planned.AutonPlan.AutonPlanPoint;
 import frc.robot.swerve.RobotPose;
 
+// Follows the plan's trajectory, with feedback on position and heading on top of the
+// trajectory's own velocity. The trajectory waits at the next stop point until the
+// subclass moves on with setPoint.
 public class PlannedAutonProfile extends ControlProfile {
 
+	protected final LoopClock clock;
 	protected final RobotPose pose;
+	private final AutonTrajectory trajectory;
 	private final AutonPlan plan;
+	private final TrajectoryConfig config;
+	private final double turnDistance;
+	private final AutonTrajectoryState reference = new AutonTrajectoryState();
 	private boolean first = true;
 	private int index = 0;
+	private double time = 0;
+	private double crossingError = Double.NaN;
 
 	private double distanceToTarget;
 	private double forwardDistanceToTarget;
 	private double angleError;
 
-	public PlannedAutonProfile(RobotPose pose, AutonPlan plan) {
+	public PlannedAutonProfile(LoopClock clock, RobotPose pose, AutonTrajectory trajectory) {
+		if (clock == null)
+			throw new IllegalArgumentException("clock is null");
 		if (pose == null)
 			throw new IllegalArgumentException("pose is null");
-		if (plan == null)
-			throw new IllegalArgumentException("plan is null");
-		if (plan.points.length == 0)
-			throw new IllegalArgumentException("plan is empty");
+		if (trajectory == null)
+			throw new IllegalArgumentException("trajectory is null");
+		this.clock = clock;
 		this.pose = pose;
-		this.plan = plan;
+		this.trajectory = trajectory;
+		plan = trajectory.getPlan();
+		config = trajectory.getConfig();
+		turnDistance = config.turnRadius * Math.PI * 2;
 	}
 
 	@Override
@@ -33,34 +49,48 @@ public class PlannedAutonProfile extends ControlProfile {
 			pose.y = plan.start.y;
 			pose.angle = plan.start.angle;
 			first = false;
+		} else
+			time = Math.min(time + clock.getDelta(), trajectory.getStopTime(index));
+		trajectory.sample(time, reference);
+		measure();
+
+		double velocityX = reference.velocityX + (reference.x - pose.x) * config.positionGain;
+		double velocityY = reference.velocityY + (reference.y - pose.y) * config.positionGain;
+		double angularVelocity = reference.angularVelocity + (reference.angle - pose.angle) * config.angleGain;
+
+		// The robot keeps turning while the modules steer to the new angle, so aim for where
+		// the heading will be by then or the path skews off to the side while turning.
+		double heading = pose.angle + angularVelocity * config.skewTime;
+		swerveLinearAngle = ((-Math.atan2(velocityY, velocityX) / Math.PI / 2 + 0.25 - heading) % 1 + 1) % 1;
+		swerveLinearSpeed = Math.sqrt(velocityX * velocityX + velocityY * velocityY) / config.maxSpeed;
+		swerveRotate = angularVelocity * turnDistance / config.maxSpeed;
+
+		if (!Double.isFinite(swerveLinearAngle) || !Double.isFinite(swerveLinearSpeed) || !Double.isFinite(swerveRotate)) {
+			swerveLinearAngle = 0;
+			swerveLinearSpeed = 0;
+			swerveRotate = 0;
 		}
+	}
 
+	private void measure() {
 		AutonPlanPoint point = plan.points[index];
-
 		double xError = point.x - pose.x;
 		double yError = point.y - pose.y;
 		angleError = point.angle - pose.angle;
 		distanceToTarget = Math.sqrt(xError * xError + yError * yError);
 
-		double directionToTarget = ((-Math.atan2(yError, xError) / Math.PI / 2 + 0.25 - pose.angle) % 1 + 1) % 1;
-		forwardDistanceToTarget = Math.abs(Math.cos(directionToTarget * Math.PI * 2) * distanceToTarget);
-
-		swerveLinearAngle = directionToTarget;
-		if (distanceToTarget >= point.linearRamp)
-			swerveLinearSpeed = point.linearCruise;
-		else
-			swerveLinearSpeed = point.linearCruise * (distanceToTarget / point.linearRamp);
-
-		if (Math.abs(angleError) >= point.rotateRamp)
-			swerveRotate = Math.copySign(point.rotateCruise, angleError);
-		else
-			swerveRotate = point.rotateCruise * (angleError / point.rotateRamp);
-
-		if (!Double.isFinite(swerveLinearAngle) || !Double.isFinite(swerveLinearSpeed) || !Double.isFinite(swerveRotate)) {
-			swerveLinearAngle = 0;
-			swerveLinearSpeed = 0;
-			swerveRotate = 0;
+		// A point the path drives through counts as reached once the robot crosses it, by
+		// how far off to the side it was when it crossed.
+		double tangentX = trajectory.getPointTangentX(index);
+		double tangentY = trajectory.getPointTangentY(index);
+		if (Double.isNaN(crossingError) && tangentX * xError + tangentY * yError < 0) {
+			double length = Math.sqrt(tangentX * tangentX + tangentY * tangentY);
+			crossingError = Math.abs(tangentX * yError - tangentY * xError) / length;
 		}
+		if (!Double.isNaN(crossingError))
+			distanceToTarget = crossingError;
+		double directionToTarget = -Math.atan2(yError, xError) / Math.PI / 2 + 0.25 - pose.angle;
+		forwardDistanceToTarget = Math.abs(Math.cos(directionToTarget * Math.PI * 2) * distanceToTarget);
 	}
 
 	@Override
@@ -68,11 +98,29 @@ public class PlannedAutonProfile extends ControlProfile {
 		super.reset();
 		first = true;
 		index = 0;
+		time = 0;
+		crossingError = Double.NaN;
+	}
+
+	// True once the whole plan has been run.
+	public boolean isFinished() {
+		return false;
+	}
+
+	// The errors are measured against the new point straight away, so they can be checked
+	// in the same loop.
+	public void setPoint(int point) {
+		if (point < 0 || point >= plan.points.length)
+			throw new IllegalArgumentException("point is out of range");
+		if (point != index) {
+			index = point;
+			crossingError = Double.NaN;
+			measure();
+		}
 	}
 
-	public void nextPoint() {
-		if (index < plan.points.length - 1)
-			index++;
+	public int getPoint() {
+		return index;
 	}
 
 	public double getPositionError() {
@@ -0,0 +1,88 @@
+package frc.robot.profiles.auton.steps;
+
+import frc.robot.profiles.auton.planned.AutonPlan.AutonPlanStep;
+
+// A node of an auton sequence. Steps are built once from the plan and only reset by
+// start, so running them doesn't allocate. Time is whatever the profile has measured
+// since auton started, not a count of loops.
+public abstract class AutonStep {
+
+	private static final AutonStep[] NONE = new AutonStep[0];
+
+	private final String type;
+	int index = -1;
+	private double startTime;
+
+	protected AutonStep(String type) {
+		this.type = type;
+	}
+
+	public static AutonStep create(AutonPlanStep plan) {
+		if (plan == null)
+			throw new IllegalArgumentException("plan is null");
+		if (plan.type == null)
+			throw new IllegalArgumentException("type is null");
+		switch (plan.type) {
+			case "sequence":
+				return new SequenceStep(createAll(plan.steps));
+			case "parallel":
+				return new ParallelStep(createAll(plan.steps));
+			case "race":
+				return new RaceStep(createAll(plan.steps));
+			case "drive":
+				return new DriveStep(plan.point, plan.position, plan.angle);
+			case "intake":
+				return new IntakeStep(plan.deploy, plan.active);
+			case "spinup":
+				return new SpinUpStep(plan.mode);
+			case "fire":
+				return new FireStep(plan.time);
+			case "wait":
+				return new WaitStep(plan.time);
+			case "pickup":
+				return new PickupStep(plan.position, plan.angle, plan.time);
+			case "stop":
+				return new StopStep();
+			default:
+				throw new IllegalArgumentException("unknown step type " + plan.type);
+		}
+	}
+
+	private static AutonStep[] createAll(AutonPlanStep[] plans) {
+		AutonStep[] steps = new AutonStep[plans.length];
+		for (int i = 0; i < plans.length; i++)
+			steps[i] = create(plans[i]);
+		return steps;
+	}
+
+	public final void start(SequencedAutonProfile auton) {
+		startTime = auton.getTime();
+		begin(auton);
+	}
+
+	// Returns true once the step has finished. Not called again after that until the step
+	// is started again.
+	public final boolean update(SequencedAutonProfile auton) {
+		if (!run(auton))
+			return false;
+		auton.stepFinished(index, auton.getTime() - startTime);
+		return true;
+	}
+
+	public String getType() {
+		return type;
+	}
+
+	public AutonStep[] getChildren() {
+		return NONE;
+	}
+
+	// Seconds since the step started.
+	protected final double getElapsed(SequencedAutonProfile auton) {
+		return auton.getTime() - startTime;
+	}
+
+	protected void begin(SequencedAutonProfile auton) {}
+
+	protected abstract boolean run(SequencedAutonProfile auton);
+}
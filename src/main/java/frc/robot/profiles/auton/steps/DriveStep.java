@@ -0,0 +1,33 @@
+package frc.robot.profiles.auton.steps;
+
+// Moves the trajectory on to a point of the plan and finishes once the robot is within
+// the tolerances of it.
+public class DriveStep extends AutonStep {
+
+	private final int point;
+	private final double positionTolerance;
+	private final double angleTolerance;
+
+	public DriveStep(int point, double positionTolerance, double angleTolerance) {
+		super("drive");
+		if (point < 0)
+			throw new IllegalArgumentException("point is negative");
+		this.point = point;
+		this.positionTolerance = positionTolerance;
+		this.angleTolerance = angleTolerance;
+	}
+
+	public int getPoint() {
+		return point;
+	}
+
+	@Override
+	protected void begin(SequencedAutonProfile auton) {
+		auton.drive(point);
+	}
+
+	@Override
+	protected boolean run(SequencedAutonProfile auton) {
+		return Math.abs(auton.getAngleError()) < angleTolerance && auton.getPositionError() < positionTolerance;
+	}
+}
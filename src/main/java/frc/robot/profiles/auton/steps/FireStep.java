@@ -0,0 +1,28 @@
+package frc.robot.profiles.auton.steps;
+
+// Fires for a while, then stops the shooter.
+public class FireStep extends AutonStep {
+
+	private final double duration;
+
+	public FireStep(double duration) {
+		super("fire");
+		if (duration < 0)
+			throw new IllegalArgumentException("duration is negative");
+		this.duration = duration;
+	}
+
+	@Override
+	protected void begin(SequencedAutonProfile auton) {
+		auton.setShooterFire(true);
+	}
+
+	@Override
+	protected boolean run(SequencedAutonProfile auton) {
+		if (getElapsed(auton) < duration)
+			return false;
+		auton.setShooterFire(false);
+		auton.setShooter(auton.getShooterMode(), false);
+		return true;
+	}
+}
@@ -0,0 +1,19 @@
+package frc.robot.profiles.auton.steps;
+
+public class IntakeStep extends AutonStep {
+
+	private final boolean deploy;
+	private final boolean active;
+
+	public IntakeStep(boolean deploy, boolean active) {
+		super("intake");
+		this.deploy = deploy;
+		this.active = active;
+	}
+
+	@Override
+	protected boolean run(SequencedAutonProfile auton) {
+		auton.setIntake(deploy, active);
+		return true;
+	}
+}
@@ -0,0 +1,40 @@
+package frc.robot.profiles.auton.steps;
+
+// Runs its steps together and finishes when all of them have.
+public class ParallelStep extends AutonStep {
+
+	private final AutonStep[] steps;
+	private final boolean[] finished;
+
+	public ParallelStep(AutonStep[] steps) {
+		super("parallel");
+		if (steps == null)
+			throw new IllegalArgumentException("steps is null");
+		this.steps = steps;
+		finished = new boolean[steps.length];
+	}
+
+	@Override
+	public AutonStep[] getChildren() {
+		return steps;
+	}
+
+	@Override
+	protected void begin(SequencedAutonProfile auton) {
+		for (int i = 0; i < steps.length; i++) {
+			finished[i] = false;
+			steps[i].start(auton);
+		}
+	}
+
+	@Override
+	protected boolean run(SequencedAutonProfile auton) {
+		boolean all = true;
+		for (int i = 0; i < steps.length; i++) {
+			if (!finished[i])
+				finished[i] = steps[i].update(auton);
+			all &= finished[i];
+		}
+		return all;
+	}
+}
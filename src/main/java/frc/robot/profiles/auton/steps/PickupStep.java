@@ -0,0 +1,63 @@
+package frc.robot.profiles.auton.steps;
+
+import frc.robot.vision.IBallVision;
+
+// Drives to the current point with the ball camera steering sideways onto the ball, once
+// the robot has turned to face it. Finishes and holds the robot still when it is close
+// enough, or when the camera has lost the ball for longer than the timeout. A result older
+// than MAX_AGE counts as lost, so a stalled camera doesn't keep steering the robot. The ball
+// camera is only switched on for the length of the step, so the ball isn't counted as lost
+// until its first frame has come in, or WARM_UP_TIME has gone by without one.
+public class PickupStep extends AutonStep {
+
+	public static final double MAX_AGE = 0.25;
+	public static final double WARM_UP_TIME = 1;
+
+	private final double forwardTolerance;
+	private final double angleTolerance;
+	private final double timeout;
+
+	private double lostTime = 0;
+	private double warmUpTime = 0;
+
+	public PickupStep(double forwardTolerance, double angleTolerance, double timeout) {
+		super("pickup");
+		if (timeout < 0)
+			throw new IllegalArgumentException("timeout is negative");
+		this.forwardTolerance = forwardTolerance;
+		this.angleTolerance = angleTolerance;
+		this.timeout = timeout;
+	}
+
+	@Override
+	protected void begin(SequencedAutonProfile auton) {
+		lostTime = 0;
+		warmUpTime = 0;
+		auton.getBallVision().setActive(true);
+	}
+
+	@Override
+	protected boolean run(SequencedAutonProfile auton) {
+		if (Math.abs(auton.getAngleError()) >= angleTolerance)
+			return false;
+		if (lostTime >= timeout || auton.getForwardError() < forwardTolerance) {
+			auton.hold();
+			auton.getBallVision().setActive(false);
+			return true;
+		}
+
+		IBallVision ballVision = auton.getBallVision();
+		if (ballVision.hasTarget() && ballVision.getAge() <= MAX_AGE) {
+			double x = ballVision.getCorrection();
+			double y = Math.cos(auton.getSwerveLinearAngle() * Math.PI * 2) * auton.getSwerveLinearSpeed();
+			auton.setLinearVelocity(-Math.atan2(y, x) / Math.PI / 2 + 0.25, Math.sqrt(x * x + y * y));
+		} else {
+			if (ballVision.hasFrame() || warmUpTime >= WARM_UP_TIME)
+				lostTime += auton.getDelta();
+			else
+				warmUpTime += auton.getDelta();
+			auton.setLinearVelocity(0, 0);
+		}
+		return false;
+	}
+}
@@ -0,0 +1,35 @@
+package frc.robot.profiles.auton.steps;
+
+// Runs its steps together and finishes as soon as any of them does. The others are left
+// where they are.
+public class RaceStep extends AutonStep {
+
+	private final AutonStep[] steps;
+
+	public RaceStep(AutonStep[] steps) {
+		super("race");
+		if (steps == null)
+			throw new IllegalArgumentException("steps is null");
+		this.steps = steps;
+	}
+
+	@Override
+	public AutonStep[] getChildren() {
+		return steps;
+	}
+
+	@Override
+	protected void begin(SequencedAutonProfile auton) {
+		for (AutonStep step : steps)
+			step.start(auton);
+	}
+
+	@Override
+	protected boolean run(SequencedAutonProfile auton) {
+		for (AutonStep step : steps) {
+			if (step.update(auton))
+				return true;
+		}
+		return steps.length == 0;
+	}
+}
@@ -0,0 +1,40 @@
+package frc.robot.profiles.auton.steps;
+
+// Runs its steps one after the other. A step that finishes hands over to the next one in
+// the same loop, so steps that finish straight away don't cost a loop each.
+public class SequenceStep extends AutonStep {
+
+	private final AutonStep[] steps;
+	private int current = 0;
+
+	public SequenceStep(AutonStep[] steps) {
+		super("sequence");
+		if (steps == null)
+			throw new IllegalArgumentException("steps is null");
+		this.steps = steps;
+	}
+
+	@Override
+	public AutonStep[] getChildren() {
+		return steps;
+	}
+
+	@Override
+	protected void begin(SequencedAutonProfile auton) {
+		current = 0;
+		if (steps.length > 0)
+			steps[0].start(auton);
+	}
+
+	@Override
+	protected boolean run(SequencedAutonProfile auton) {
+		while (current < steps.length) {
+			if (!steps[current].update(auton))
+				return false;
+			current++;
+			if (current < steps.length)
+				steps[current].start(auton);
+		}
+		return true;
+	}
+}
@@ -0,0 +1,167 @@
+package frc.robot.profiles.auton.steps;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import frc.robot.LoopClock;
+import frc.robot.profiles.auton.planned.AutonTrajectory;
+import frc.robot.profiles.auton.planned.PlannedAutonProfile;
+import frc.robot.shooter.ShooterMode;
+import frc.robot.swerve.RobotPose;
+import frc.robot.telemetry.DoublePublisher;
+import frc.robot.telemetry.ITelemetryTable;
+import frc.robot.vision.IBallVision;
+
+// Runs the step sequence from the plan on top of the trajectory. The trajectory is
+// followed every loop unless a step holds the robot still, and the steps then adjust
+// the outputs. How long each step took is kept for telemetry.
+public class SequencedAutonProfile extends PlannedAutonProfile {
+
+	private final IBallVision ballVision;
+	private final AutonStep root;
+	private final AutonStep[] steps;
+	private final double[] stepTimes;
+	private DoublePublisher[] stepOutputs;
+
+	private boolean started = false;
+	private boolean finished = false;
+	private boolean holding = false;
+	private double time = 0;
+
+	public SequencedAutonProfile(LoopClock clock, RobotPose pose, AutonTrajectory trajectory,
+									IBallVision ballVision) {
+		super(clock, pose, trajectory);
+		if (ballVision == null)
+			throw new IllegalArgumentException("ballVision is null");
+		this.ballVision = ballVision;
+		root = AutonStep.create(trajectory.getPlan().sequence);
+
+		// Steps are numbered depth first, which is the order they appear in the plan.
+		List<AutonStep> list = new ArrayList<>();
+		number(root, list);
+		steps = list.toArray(new AutonStep[0]);
+		stepTimes = new double[steps.length];
+		Arrays.fill(stepTimes, Double.NaN);
+
+		int points = trajectory.getPlan().points.length;
+		for (AutonStep step : steps) {
+			if (step instanceof DriveStep && ((DriveStep) step).getPoint() >= points)
+				throw new IllegalArgumentException("drive step point is out of range");
+		}
+	}
+
+	private static void number(AutonStep step, List<AutonStep> list) {
+		step.index = list.size();
+		list.add(step);
+		for (AutonStep child : step.getChildren())
+			number(child, list);
+	}
+
+	// Publishes each step's time as it finishes.
+	public void setTelemetry(ITelemetryTable table) {
+		if (table == null)
+			throw new IllegalArgumentException("table is null");
+		stepOutputs = new DoublePublisher[steps.length];
+		for (int i = 0; i < steps.length; i++)
+			stepOutputs[i] = table.getDoublePublisher(getStepName(i));
+	}
+
+	@Override
+	public void update() {
+		if (started)
+			time += clock.getDelta();
+		if (holding) {
+			swerveLinearAngle = 0;
+			swerveLinearSpeed = 0;
+			swerveRotate = 0;
+		} else
+			super.update();
+
+		if (!started) {
+			started = true;
+			root.start(this);
+		}
+		if (!finished)
+			finished = root.update(this);
+	}
+
+	@Override
+	public void reset() {
+		super.reset();
+		started = false;
+		finished = false;
+		holding = false;
+		time = 0;
+		Arrays.fill(stepTimes, Double.NaN);
+	}
+
+	@Override
+	public boolean isFinished() {
+		return finished;
+	}
+
+	void stepFinished(int index, double duration) {
+		stepTimes[index] = duration;
+		if (stepOutputs != null)
+			stepOutputs[index].set(duration);
+	}
+
+	public int getStepCount() {
+		return steps.length;
+	}
+
+	public String getStepName(int index) {
+		return String.format("%02d %s", index, steps[index].getType());
+	}
+
+	// Seconds the step took the last time it ran, or NaN if it hasn't finished.
+	public double getStepTime(int index) {
+		return stepTimes[index];
+	}
+
+	// Seconds since auton started.
+	public double getTime() {
+		return time;
+	}
+
+	public double getDelta() {
+		return clock.getDelta();
+	}
+
+	public IBallVision getBallVision() {
+		return ballVision;
+	}
+
+	// Follows the trajectory on to the point again if the robot was being held.
+	public void drive(int point) {
+		setPoint(point);
+		holding = false;
+	}
+
+	public void hold() {
+		holding = true;
+		swerveLinearAngle = 0;
+		swerveLinearSpeed = 0;
+		swerveRotate = 0;
+	}
+
+	public void setLinearVelocity(double angle, double speed) {
+		swerveLinearAngle = angle;
+		swerveLinearSpeed = speed;
+	}
+
+	public void setIntake(boolean deploy, boolean active) {
+		intakeDeploy = deploy;
+		intakeActive = active;
+	}
+
+	public void setShooter(ShooterMode mode, boolean spin) {
+		shooterMode = mode;
+		shooterSpin = spin;
+	}
+
+	public void setShooterFire(boolean fire) {
+		shooterFire = fire;
+	}
+}
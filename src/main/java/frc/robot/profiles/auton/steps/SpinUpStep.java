@@ -0,0 +1,23 @@
+package frc.robot.profiles.auton.steps;
+
+import frc.robot.shooter.ShooterMode;
+
+// Starts the shooter and finishes straight away, so it keeps spinning up through whatever
+// comes next.
+public class SpinUpStep extends AutonStep {
+
+	private final ShooterMode mode;
+
+	public SpinUpStep(ShooterMode mode) {
+		super("spinup");
+		if (mode == null)
+			throw new IllegalArgumentException("mode is null");
+		this.mode = mode;
+	}
+
+	@Override
+	protected boolean run(SequencedAutonProfile auton) {
+		auton.setShooter(mode, true);
+		return true;
+	}
+}
@@ -0,0 +1,15 @@
+package frc.robot.profiles.auton.steps;
+
+// Holds the robot still until the next drive step.
+public class StopStep extends AutonStep {
+
+	public StopStep() {
+		super("stop");
+	}
+
+	@Override
+	protected boolean run(SequencedAutonProfile auton) {
+		auton.hold();
+		return true;
+	}
+}
@@ -0,0 +1,18 @@
+package frc.robot.profiles.auton.steps;
+
+public class WaitStep extends AutonStep {
+
+	private final double duration;
+
+	public WaitStep(double duration) {
+		super("wait");
+		if (duration < 0)
+			throw new IllegalArgumentException("duration is negative");
+		this.duration = duration;
+	}
+
+	@Override
+	protected boolean run(SequencedAutonProfile auton) {
+		return getElapsed(auton) >= duration;
+	}
+}
@@ -3,6 +3,7 @@ package frc.robot.profiles.teleop;
 import com.ctre.phoenix.motorcontrol.can.SlotConfiguration;
 
 import edu.wpi.first.wpilibj.XboxController;
+import frc.robot.LoopClock;
 import frc.robot.config.AbsoluteSteeringConfig;
 import frc.robot.profiles.ControlProfile;
 import frc.robot.shooter.ShooterMode;
@@ -22,6 +23,7 @@ public class DefaultDriverProfile extends ControlProfile {
 	private final SlotConfiguration steeringPid;
 
 	private boolean shooterToggleTripped = false;
+	private boolean shotTagTripped = false;
 
 	private boolean swerveAlignTripped = false;
 	private boolean configReloadTripped = false;
@@ -29,15 +31,16 @@ public class DefaultDriverProfile extends ControlProfile {
 	private boolean fieldRelative = false;
 	private boolean absoluteSteering = false;
 
-	private long lastTime;
+	private final LoopClock clock;
 	private double iacc = 0;
 	private double lastErr = 0;
 
 	public DefaultDriverProfile(XboxController driver, XboxController operator,
-								RobotPose pose, AbsoluteSteeringConfig config) {
+								RobotPose pose, LoopClock clock, AbsoluteSteeringConfig config) {
 		this.driver = driver;
 		this.operator = operator;
 		this.pose = pose;
+		this.clock = clock;
 		this.steeringPid = config.pid;
 	}
 
@@ -76,7 +79,6 @@ public class DefaultDriverProfile extends ControlProfile {
 			if (rotateMagnitude == 0) {
 				rotate = 0;
 
-				lastTime = System.currentTimeMillis();
 				iacc = 0;
 				lastErr = 0;
 			} else {
@@ -92,9 +94,7 @@ public class DefaultDriverProfile extends ControlProfile {
 				else
 					targetError = errorLoop;
 
-				long currentTime = System.currentTimeMillis();
-				double timeDeltaSeconds = (currentTime - lastTime) / 1000d;
-				lastTime = currentTime;
+				double timeDeltaSeconds = clock.getDelta();
 
 				if (Math.abs(targetError) <= steeringPid.integralZone) {
 					iacc += targetError * timeDeltaSeconds;
@@ -111,7 +111,6 @@ public class DefaultDriverProfile extends ControlProfile {
 		} else {
 			rotate = deadzone(rotateX, THRESHOLD) / 2;
 
-			lastTime = System.currentTimeMillis();
 			iacc = 0;
 			lastErr = 0;
 		}
@@ -146,6 +145,12 @@ public class DefaultDriverProfile extends ControlProfile {
 		decreaseShooterDistance = operator.getLeftBumperPressed();
 		increaseShooterDistance = operator.getRightBumperPressed();
 
+		// Tags the last shot for the shot log, once per press.
+		boolean shotTag = operator.getPOV() == 0 || operator.getPOV() == 180;
+		shotMade = shotTag && !shotTagTripped && operator.getPOV() == 0;
+		shotMissed = shotTag && !shotTagTripped && operator.getPOV() == 180;
+		shotTagTripped = shotTag;
+
 		if (driver.getBackButton() && driver.getStartButton()) {
 			swerveAlign = !swerveAlignTripped;
 			swerveAlignTripped = true;
@@ -171,6 +176,7 @@ public class DefaultDriverProfile extends ControlProfile {
 	public void reset() {
 		super.reset();
 		shooterToggleTripped = false;
+		shotTagTripped = false;
 		fieldRelative = false;
 		absoluteSteering = false;
 	}
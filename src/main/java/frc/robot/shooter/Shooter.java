@@ -18,6 +18,9 @@ public class Shooter implements Subsystem {
 	private boolean spin = false;
 	private boolean fire = false;
 
+	private ShotRecorder recorder;
+	private boolean wasFiring = false;
+
 	public Shooter(ShooterHardware hardware, ShooterVision vision,
 					ShooterConfig config) {
 		if (hardware == null)
@@ -67,6 +70,16 @@ public class Shooter implements Subsystem {
 		return hardware.isFiring();
 	}
 
+	// Every shot at the high goal is recorded from then on.
+	public void setRecorder(ShotRecorder recorder) {
+		this.recorder = recorder;
+	}
+
+	public void tagShot(boolean made) {
+		if (recorder != null)
+			recorder.tagLastShot(made);
+	}
+
 	public void setUnjam(boolean unjam) {
 		hardware.setUnjam(unjam);
 	}
@@ -118,6 +131,15 @@ public class Shooter implements Subsystem {
 			hardware.setFire(fire);
 
 		hardware.tick();
+
+		// The feeder starting is a shot.
+		boolean firing = hardware.isFiring();
+		if (recorder != null && firing && !wasFiring && mode == ShooterMode.HIGH_GOAL_VISION && vision.hasTarget())
+			recorder.recordShot(vision.getDistance(), vision.getShotDistance(),
+								hardware.getTopSpeed(), hardware.getBottomSpeed(),
+								hardware.getTopVelocity(), hardware.getBottomVelocity(),
+								vision.getSpeedFactor());
+		wasFiring = firing;
 	}
 
 	public void configure(ShooterConfig config) {
@@ -1,6 +1,5 @@
 package frc.robot.shooter;
 
-import com.ctre.phoenix.motorcontrol.ControlMode;
 import com.ctre.phoenix.motorcontrol.FeedbackDevice;
 import com.ctre.phoenix.motorcontrol.NeutralMode;
 import com.ctre.phoenix.motorcontrol.StatusFrameEnhanced;
@@ -9,14 +8,16 @@ import com.ctre.phoenix.motorcontrol.TalonFXInvertType;
 import com.ctre.phoenix.motorcontrol.can.TalonFX;
 import com.ctre.phoenix.motorcontrol.can.TalonFXConfiguration;
 
+import frc.robot.LoopClock;
 import frc.robot.Subsystem;
 import frc.robot.config.ShooterHardwareConfig;
+import frc.robot.io.IMotorController;
 
 public class ShooterHardware implements Subsystem {
 
-	private final TalonFX topMotor;
-	private final TalonFX bottomMotor;
-	private final TalonFX feederMotor;
+	private final IMotorController topMotor;
+	private final IMotorController bottomMotor;
+	private final IMotorController feederMotor;
 
 	private double fireThreshold;
 	private double feederSpeed;
@@ -31,15 +32,24 @@ public class ShooterHardware implements Subsystem {
 	private boolean currentlyFiring = false;
 	private boolean currentlyUnjamming = false;
 
-	private long lastTime;
+	private final LoopClock clock;
 	private double minFireTime;
 	private double fireTime;
 
-	public ShooterHardware(int topChannel, int bottomChannel, int feederChannel,
-							ShooterHardwareConfig config) {
-		topMotor = new TalonFX(topChannel);
-		bottomMotor = new TalonFX(bottomChannel);
-		feederMotor = new TalonFX(feederChannel);
+	public ShooterHardware(IMotorController topMotor, IMotorController bottomMotor,
+							IMotorController feederMotor, LoopClock clock, ShooterHardwareConfig config) {
+		if (topMotor == null)
+			throw new IllegalArgumentException("topMotor is null");
+		if (bottomMotor == null)
+			throw new IllegalArgumentException("bottomMotor is null");
+		if (feederMotor == null)
+			throw new IllegalArgumentException("feederMotor is null");
+		if (clock == null)
+			throw new IllegalArgumentException("clock is null");
+		this.topMotor = topMotor;
+		this.bottomMotor = bottomMotor;
+		this.feederMotor = feederMotor;
+		this.clock = clock;
 
 		configure(config);
 	}
@@ -63,8 +73,24 @@ public class ShooterHardware implements Subsystem {
 
 	public boolean isReady() {
 		return isSpinning() &&
-				Math.abs(topSpeed - topMotor.getSelectedSensorVelocity()) < fireThreshold &&
-				Math.abs(bottomSpeed - bottomMotor.getSelectedSensorVelocity()) < fireThreshold;
+				Math.abs(topSpeed - topMotor.getEncoder().getVelocity()) < fireThreshold &&
+				Math.abs(bottomSpeed - bottomMotor.getEncoder().getVelocity()) < fireThreshold;
+	}
+
+	public double getTopSpeed() {
+		return topSpeed;
+	}
+
+	public double getBottomSpeed() {
+		return bottomSpeed;
+	}
+
+	public double getTopVelocity() {
+		return topMotor.getEncoder().getVelocity();
+	}
+
+	public double getBottomVelocity() {
+		return bottomMotor.getEncoder().getVelocity();
 	}
 
 	public boolean isFiring() {
@@ -77,17 +103,15 @@ public class ShooterHardware implements Subsystem {
 
 	@Override
 	public void tick() {
-		long currentTime = System.currentTimeMillis();
-		double timeDeltaSeconds = (currentTime - lastTime) / 1000d;
-		lastTime = currentTime;
+		double timeDeltaSeconds = clock.getDelta();
 
 		if (updateSpeed) {
 			if (topSpeed != 0)
-				topMotor.set(ControlMode.Velocity, topSpeed);
+				topMotor.setVelocityTarget(topSpeed);
 			else
 				topMotor.neutralOutput();
 			if (bottomSpeed != 0)
-				bottomMotor.set(ControlMode.Velocity, bottomSpeed);
+				bottomMotor.setVelocityTarget(bottomSpeed);
 			else
 				bottomMotor.neutralOutput();
 		}
@@ -98,13 +122,13 @@ public class ShooterHardware implements Subsystem {
 
 		if (unjam || currentlyUnjamming) {
 			if (unjam != currentlyUnjamming) {
-				feederMotor.set(ControlMode.PercentOutput, unjam ? feederUnjamSpeed : 0);
+				feederMotor.setPercentOutput(unjam ? feederUnjamSpeed : 0);
 				currentlyUnjamming = unjam;
 				fireTime = 0;
 			}
 		} else {
 			if (shouldFire != currentlyFiring) {
-				feederMotor.set(ControlMode.PercentOutput, shouldFire ? feederSpeed : 0);
+				feederMotor.setPercentOutput(shouldFire ? feederSpeed : 0);
 				if (shouldFire)
 					fireTime = minFireTime;
 				currentlyFiring = shouldFire;
@@ -123,21 +147,23 @@ public class ShooterHardware implements Subsystem {
 		topMotorConfig.supplyCurrLimit.enable = config.shooterCurrentLimitEnabled;
 		topMotorConfig.supplyCurrLimit.currentLimit = config.shooterCurrentLimit;
 		topMotorConfig.supplyCurrLimit.triggerThresholdTime = config.shooterCurrentLimitTime;
-		topMotor.configAllSettings(topMotorConfig);
-		topMotor.selectProfileSlot(0, 0);
-		topMotor.setNeutralMode(config.shooterBrake ? NeutralMode.Brake : NeutralMode.Coast);
-		topMotor.setInverted(TalonFXInvertType.CounterClockwise);
-		topMotor.enableVoltageCompensation(true);
-		topMotor.setStatusFramePeriod(StatusFrameEnhanced.Status_1_General, 255);
-		topMotor.setStatusFramePeriod(StatusFrameEnhanced.Status_2_Feedback0, 20);
-		topMotor.setStatusFramePeriod(StatusFrameEnhanced.Status_3_Quadrature, 255);
-		topMotor.setStatusFramePeriod(StatusFrameEnhanced.Status_4_AinTempVbat, 255);
-		topMotor.setStatusFramePeriod(StatusFrameEnhanced.Status_8_PulseWidth, 255);
-		topMotor.setStatusFramePeriod(StatusFrameEnhanced.Status_10_Targets, 255);
-		topMotor.setStatusFramePeriod(StatusFrameEnhanced.Status_12_Feedback1, 255);
-		topMotor.setStatusFramePeriod(StatusFrameEnhanced.Status_13_Base_PIDF0, 255);
-		topMotor.setStatusFramePeriod(StatusFrameEnhanced.Status_14_Turn_PIDF1, 255);
-		topMotor.setStatusFramePeriod(StatusFrameEnhanced.Status_Brushless_Current, 255);
+		topMotor.configure(TalonFX.class, talon -> {
+			talon.configAllSettings(topMotorConfig);
+			talon.selectProfileSlot(0, 0);
+			talon.setNeutralMode(config.shooterBrake ? NeutralMode.Brake : NeutralMode.Coast);
+			talon.setInverted(TalonFXInvertType.CounterClockwise);
+			talon.enableVoltageCompensation(true);
+			talon.setStatusFramePeriod(StatusFrameEnhanced.Status_1_General, 255);
+			talon.setStatusFramePeriod(StatusFrameEnhanced.Status_2_Feedback0, 20);
+			talon.setStatusFramePeriod(StatusFrameEnhanced.Status_3_Quadrature, 255);
+			talon.setStatusFramePeriod(StatusFrameEnhanced.Status_4_AinTempVbat, 255);
+			talon.setStatusFramePeriod(StatusFrameEnhanced.Status_8_PulseWidth, 255);
+			talon.setStatusFramePeriod(StatusFrameEnhanced.Status_10_Targets, 255);
+			talon.setStatusFramePeriod(StatusFrameEnhanced.Status_12_Feedback1, 255);
+			talon.setStatusFramePeriod(StatusFrameEnhanced.Status_13_Base_PIDF0, 255);
+			talon.setStatusFramePeriod(StatusFrameEnhanced.Status_14_Turn_PIDF1, 255);
+			talon.setStatusFramePeriod(StatusFrameEnhanced.Status_Brushless_Current, 255);
+		});
 
 		TalonFXConfiguration bottomMotorConfig = new TalonFXConfiguration();
 		bottomMotorConfig.neutralDeadband = 0.001;
@@ -149,21 +175,23 @@ public class ShooterHardware implements Subsystem {
 		bottomMotorConfig.supplyCurrLimit.enable = config.shooterCurrentLimitEnabled;
 		bottomMotorConfig.supplyCurrLimit.currentLimit = config.shooterCurrentLimit;
 		bottomMotorConfig.supplyCurrLimit.triggerThresholdTime = config.shooterCurrentLimitTime;
-		bottomMotor.configAllSettings(bottomMotorConfig);
-		bottomMotor.selectProfileSlot(0, 0);
-		bottomMotor.setNeutralMode(config.shooterBrake ? NeutralMode.Brake : NeutralMode.Coast);
-		bottomMotor.setInverted(TalonFXInvertType.Clockwise);
-		bottomMotor.enableVoltageCompensation(true);
-		bottomMotor.setStatusFramePeriod(StatusFrameEnhanced.Status_1_General, 255);
-		bottomMotor.setStatusFramePeriod(StatusFrameEnhanced.Status_2_Feedback0, 20);
-		bottomMotor.setStatusFramePeriod(StatusFrameEnhanced.Status_3_Quadrature, 255);
-		bottomMotor.setStatusFramePeriod(StatusFrameEnhanced.Status_4_AinTempVbat, 255);
-		bottomMotor.setStatusFramePeriod(StatusFrameEnhanced.Status_8_PulseWidth, 255);
-		bottomMotor.setStatusFramePeriod(StatusFrameEnhanced.Status_10_Targets, 255);
-		bottomMotor.setStatusFramePeriod(StatusFrameEnhanced.Status_12_Feedback1, 255);
-		bottomMotor.setStatusFramePeriod(StatusFrameEnhanced.Status_13_Base_PIDF0, 255);
-		bottomMotor.setStatusFramePeriod(StatusFrameEnhanced.Status_14_Turn_PIDF1, 255);
-		bottomMotor.setStatusFramePeriod(StatusFrameEnhanced.Status_Brushless_Current, 255);
+		bottomMotor.configure(TalonFX.class, talon -> {
+			talon.configAllSettings(bottomMotorConfig);
+			talon.selectProfileSlot(0, 0);
+			talon.setNeutralMode(config.shooterBrake ? NeutralMode.Brake : NeutralMode.Coast);
+			talon.setInverted(TalonFXInvertType.Clockwise);
+			talon.enableVoltageCompensation(true);
+			talon.setStatusFramePeriod(StatusFrameEnhanced.Status_1_General, 255);
+			talon.setStatusFramePeriod(StatusFrameEnhanced.Status_2_Feedback0, 20);
+			talon.setStatusFramePeriod(StatusFrameEnhanced.Status_3_Quadrature, 255);
+			talon.setStatusFramePeriod(StatusFrameEnhanced.Status_4_AinTempVbat, 255);
+			talon.setStatusFramePeriod(StatusFrameEnhanced.Status_8_PulseWidth, 255);
+			talon.setStatusFramePeriod(StatusFrameEnhanced.Status_10_Targets, 255);
+			talon.setStatusFramePeriod(StatusFrameEnhanced.Status_12_Feedback1, 255);
+			talon.setStatusFramePeriod(StatusFrameEnhanced.Status_13_Base_PIDF0, 255);
+			talon.setStatusFramePeriod(StatusFrameEnhanced.Status_14_Turn_PIDF1, 255);
+			talon.setStatusFramePeriod(StatusFrameEnhanced.Status_Brushless_Current, 255);
+		});
 
 		TalonFXConfiguration feederMotorConfig = new TalonFXConfiguration();
 		feederMotorConfig.neutralDeadband = 0.001;
@@ -171,26 +199,27 @@ public class ShooterHardware implements Subsystem {
 		feederMotorConfig.supplyCurrLimit.enable = config.feederCurrentLimitEnabled;
 		feederMotorConfig.supplyCurrLimit.currentLimit = config.feederCurrentLimit;
 		feederMotorConfig.supplyCurrLimit.triggerThresholdTime = config.feederCurrentLimitTime;
-		feederMotor.configAllSettings(feederMotorConfig);
-		feederMotor.setNeutralMode(NeutralMode.Brake);
-		feederMotor.setInverted(TalonFXInvertType.Clockwise);
-		feederMotor.setStatusFramePeriod(StatusFrameEnhanced.Status_1_General, 255);
-		feederMotor.setStatusFramePeriod(StatusFrameEnhanced.Status_2_Feedback0, 255);
-		feederMotor.setStatusFramePeriod(StatusFrameEnhanced.Status_3_Quadrature, 255);
-		feederMotor.setStatusFramePeriod(StatusFrameEnhanced.Status_4_AinTempVbat, 255);
-		feederMotor.setStatusFramePeriod(StatusFrameEnhanced.Status_8_PulseWidth, 255);
-		feederMotor.setStatusFramePeriod(StatusFrameEnhanced.Status_10_Targets, 255);
-		feederMotor.setStatusFramePeriod(StatusFrameEnhanced.Status_12_Feedback1, 255);
-		feederMotor.setStatusFramePeriod(StatusFrameEnhanced.Status_13_Base_PIDF0, 255);
-		feederMotor.setStatusFramePeriod(StatusFrameEnhanced.Status_14_Turn_PIDF1, 255);
-		feederMotor.setStatusFramePeriod(StatusFrameEnhanced.Status_Brushless_Current, 255);
+		feederMotor.configure(TalonFX.class, talon -> {
+			talon.configAllSettings(feederMotorConfig);
+			talon.setNeutralMode(NeutralMode.Brake);
+			talon.setInverted(TalonFXInvertType.Clockwise);
+			talon.setStatusFramePeriod(StatusFrameEnhanced.Status_1_General, 255);
+			talon.setStatusFramePeriod(StatusFrameEnhanced.Status_2_Feedback0, 255);
+			talon.setStatusFramePeriod(StatusFrameEnhanced.Status_3_Quadrature, 255);
+			talon.setStatusFramePeriod(StatusFrameEnhanced.Status_4_AinTempVbat, 255);
+			talon.setStatusFramePeriod(StatusFrameEnhanced.Status_8_PulseWidth, 255);
+			talon.setStatusFramePeriod(StatusFrameEnhanced.Status_10_Targets, 255);
+			talon.setStatusFramePeriod(StatusFrameEnhanced.Status_12_Feedback1, 255);
+			talon.setStatusFramePeriod(StatusFrameEnhanced.Status_13_Base_PIDF0, 255);
+			talon.setStatusFramePeriod(StatusFrameEnhanced.Status_14_Turn_PIDF1, 255);
+			talon.setStatusFramePeriod(StatusFrameEnhanced.Status_Brushless_Current, 255);
+		});
 
 		fireThreshold = config.fireThreshold;
 		feederSpeed = config.feederSpeed;
 		feederUnjamSpeed = config.feederUnjamSpeed;
 		minFireTime = config.minFireTime;
 
-		lastTime = System.currentTimeMillis();
 		fireTime = 0;
 	}
 }
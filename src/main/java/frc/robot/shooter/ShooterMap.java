@@ -0,0 +1,151 @@
+package frc.robot.shooter;
+
+import java.util.Arrays;
+import java.util.Comparator;
+
+import frc.robot.config.ShooterVisionConfig.ShooterVisionPoint;
+
+// Shooter speeds against distance, from the calibration points. Between points the speeds
+// follow a monotone cubic (PCHIP), which is smooth but never overshoots the points the way
+// a plain cubic spline can. Outside the points the speeds are held at the nearest one.
+//
+// Lookups go through a uniform grid of buckets no wider than the closest two points, so a
+// bucket holds at most one point and finding the segment is an index and one compare no
+// matter how many points there are.
+public class ShooterMap {
+
+	public static final int MAX_BUCKETS = 4096;
+
+	private final double[] distances;
+	// Four coefficients per segment, for the distance past the start of the segment.
+	private final double[] top;
+	private final double[] bottom;
+
+	private final double minDistance;
+	private final double maxDistance;
+	private final double lastTop;
+	private final double lastBottom;
+	private final double bucketWidth;
+	private final int[] buckets;
+
+	public ShooterMap(ShooterVisionPoint[] points) {
+		if (points == null)
+			throw new IllegalArgumentException("points is null");
+		if (points.length == 0)
+			throw new IllegalArgumentException("points is empty");
+
+		ShooterVisionPoint[] sorted = points.clone();
+		Arrays.sort(sorted, Comparator.comparingDouble(point -> point.distance));
+		int n = sorted.length;
+		distances = new double[n];
+		double[] topSpeeds = new double[n];
+		double[] bottomSpeeds = new double[n];
+		for (int i = 0; i < n; i++) {
+			distances[i] = sorted[i].distance;
+			topSpeeds[i] = sorted[i].topSpeed;
+			bottomSpeeds[i] = sorted[i].bottomSpeed;
+			if (i > 0 && !(distances[i] > distances[i - 1]))
+				throw new IllegalArgumentException("points have the same distance");
+		}
+
+		top = coefficients(distances, topSpeeds);
+		bottom = coefficients(distances, bottomSpeeds);
+
+		minDistance = distances[0];
+		maxDistance = distances[n - 1];
+		lastTop = topSpeeds[n - 1];
+		lastBottom = bottomSpeeds[n - 1];
+		double minGap = Double.POSITIVE_INFINITY;
+		for (int i = 1; i < n; i++)
+			minGap = Math.min(minGap, distances[i] - distances[i - 1]);
+		int count = n < 2 ? 1 : (int) Math.min(Math.ceil((maxDistance - minDistance) / minGap), MAX_BUCKETS);
+		bucketWidth = n < 2 ? 1 : (maxDistance - minDistance) / count;
+		buckets = new int[count];
+		int segment = 0;
+		for (int i = 0; i < count; i++) {
+			double start = minDistance + i * bucketWidth;
+			while (segment < n - 2 && distances[segment + 1] <= start)
+				segment++;
+			buckets[i] = segment;
+		}
+	}
+
+	// Writes the top and bottom speeds for the distance into the first two elements.
+	public void lookup(double distance, double[] output) {
+		if (distances.length == 1 || !(distance > minDistance)) {
+			output[0] = top[0];
+			output[1] = bottom[0];
+			return;
+		}
+		if (distance >= maxDistance) {
+			output[0] = lastTop;
+			output[1] = lastBottom;
+			return;
+		}
+
+		int segment = buckets[Math.min((int) ((distance - minDistance) / bucketWidth), buckets.length - 1)];
+		// Only more than once if the points are closer than MAX_BUCKETS allows for.
+		while (segment < distances.length - 2 && distance >= distances[segment + 1])
+			segment++;
+		double t = distance - distances[segment];
+		output[0] = evaluate(top, segment, t);
+		output[1] = evaluate(bottom, segment, t);
+	}
+
+	private static double evaluate(double[] coefficients, int segment, double t) {
+		int i = segment * 4;
+		return coefficients[i] + t * (coefficients[i + 1] + t * (coefficients[i + 2] + t * coefficients[i + 3]));
+	}
+
+	// Fritsch-Carlson slopes: the weighted harmonic mean of the neighbouring secants, or
+	// flat where the data turns around, which is what keeps each segment monotone.
+	private static double[] coefficients(double[] x, double[] y) {
+		int n = x.length;
+		if (n == 1)
+			return new double[] { y[0], 0, 0, 0 };
+
+		double[] h = new double[n - 1];
+		double[] secants = new double[n - 1];
+		for (int i = 0; i < n - 1; i++) {
+			h[i] = x[i + 1] - x[i];
+			secants[i] = (y[i + 1] - y[i]) / h[i];
+		}
+
+		double[] slopes = new double[n];
+		if (n == 2) {
+			slopes[0] = secants[0];
+			slopes[1] = secants[0];
+		} else {
+			for (int i = 1; i < n - 1; i++) {
+				if (secants[i - 1] * secants[i] <= 0) {
+					slopes[i] = 0;
+				} else {
+					double w1 = 2 * h[i] + h[i - 1];
+					double w2 = h[i] + 2 * h[i - 1];
+					slopes[i] = (w1 + w2) / (w1 / secants[i - 1] + w2 / secants[i]);
+				}
+			}
+			slopes[0] = endSlope(h[0], h[1], secants[0], secants[1]);
+			slopes[n - 1] = endSlope(h[n - 2], h[n - 3], secants[n - 2], secants[n - 3]);
+		}
+
+		double[] coefficients = new double[(n - 1) * 4];
+		for (int i = 0; i < n - 1; i++) {
+			coefficients[i * 4] = y[i];
+			coefficients[i * 4 + 1] = slopes[i];
+			coefficients[i * 4 + 2] = (3 * secants[i] - 2 * slopes[i] - slopes[i + 1]) / h[i];
+			coefficients[i * 4 + 3] = (slopes[i] + slopes[i + 1] - 2 * secants[i]) / (h[i] * h[i]);
+		}
+		return coefficients;
+	}
+
+	// Three point estimate at an end, kept from overshooting.
+	private static double endSlope(double h0, double h1, double secant0, double secant1) {
+		double slope = ((2 * h0 + h1) * secant0 - h0 * secant1) / (h0 + h1);
+		if (Math.signum(slope) != Math.signum(secant0))
+			return 0;
+		if (Math.signum(secant0) != Math.signum(secant1) && Math.abs(slope) > Math.abs(3 * secant0))
+			return 3 * secant0;
+		return slope;
+	}
+}
@@ -5,16 +5,20 @@ import java.util.List;
 
 import com.ctre.phoenix.motorcontrol.can.SlotConfiguration;
 
-import edu.wpi.first.networktables.NetworkTable;
-import edu.wpi.first.networktables.NetworkTableInstance;
-import frc.robot.ArrayPool;
+import frc.robot.LoopClock;
+import frc.robot.ScratchPool;
 import frc.robot.Subsystem;
 import frc.robot.config.ShooterVisionConfig;
-import frc.robot.config.ShooterVisionConfig.ShooterVisionPoint;
+import frc.robot.swerve.RobotPose;
+import frc.robot.telemetry.DoublePublisher;
+import frc.robot.telemetry.DoubleSubscriber;
+import frc.robot.telemetry.ITelemetryTable;
 
 public class ShooterVision implements Subsystem {
 
 	public static final int TIMEOUT = 100;
+	// Image capture adds roughly this many milliseconds on top of the reported pipeline latency.
+	public static final double CAPTURE_LATENCY = 11;
 
 	public static final double MAX_VERTEX_X = 1.5;
 	public static final double MAX_VERTEX_Y = 1.5;
@@ -29,11 +33,18 @@ public class ShooterVision implements Subsystem {
 	public static final double LIMELIGHT_FOV = 59.6 / 2 / 360;
 	public static final double TARGET_SIZE = 4.5 / 1.5;
 
-	private final NetworkTable table;
+	public static final int MAX_CONTOURS = 7;
+
+	private final DoublePublisher ledMode;
+	private final DoubleSubscriber latencyInput;
+	private final DoubleSubscriber validInput;
+	private final DoubleSubscriber[] areaInputs = new DoubleSubscriber[MAX_CONTOURS];
+	private final DoubleSubscriber[] xInputs = new DoubleSubscriber[MAX_CONTOURS];
+	private final DoubleSubscriber[] yInputs = new DoubleSubscriber[MAX_CONTOURS];
 
 	private SlotConfiguration pid;
 
-	private ShooterVisionPoint[] points;
+	private ShooterMap map;
 	private double a;
 	private double b;
 	private double c;
@@ -43,28 +54,57 @@ public class ShooterVision implements Subsystem {
 	private boolean isConnected = false;
 	private int timeout = TIMEOUT;
 	private double lastLatency = 0;
+	private boolean newFrame = false;
 
-	private List<double[]> contours = new ArrayList<>(7);
+	private List<double[]> contours = new ArrayList<>(MAX_CONTOURS);
+	private boolean hasMeasurement = false;
+	private double[] measurement = new double[2];
+	private double measuredDistance;
 	private boolean hasTarget = false;
 	private double[] target = new double[2];
 	private double distance;
+	private double shotDistance;
 	private double yawCorrection;
 	private boolean aligned;
 	private double[] speeds = new double[2];
+	private double aim;
 
-	private long lastTime;
+	private final RobotPose pose;
+	private final LoopClock clock;
+	private final ShotSolver solver;
+	private final TargetTracker tracker;
 	private double iacc = 0;
 	private double lastErr = 0;
 
-	public ShooterVision(ShooterVisionConfig config) {
-		table = NetworkTableInstance.getDefault().getTable("limelight");
+	// The pose is only read for the robot's velocity, to lead the goal when shooting on the
+	// move.
+	public ShooterVision(ITelemetryTable limelight, RobotPose pose, LoopClock clock, ShooterVisionConfig config) {
+		if (limelight == null)
+			throw new IllegalArgumentException("limelight is null");
+		if (pose == null)
+			throw new IllegalArgumentException("pose is null");
+		if (clock == null)
+			throw new IllegalArgumentException("clock is null");
+		this.pose = pose;
+		this.clock = clock;
+		solver = new ShotSolver(config);
+		tracker = new TargetTracker(config);
+
+		ledMode = limelight.getDoublePublisher("ledMode");
+		latencyInput = limelight.getDoubleSubscriber("tl", 0);
+		validInput = limelight.getDoubleSubscriber("tv", 0);
+		for (int i = 0; i < MAX_CONTOURS; i++) {
+			areaInputs[i] = limelight.getDoubleSubscriber("ta" + i, 0);
+			xInputs[i] = limelight.getDoubleSubscriber("tx" + i, 0);
+			yInputs[i] = limelight.getDoubleSubscriber("ty" + i, 0);
+		}
 
 		configure(config);
 		setActive(false);
 	}
 
 	public void setActive(boolean active) {
-		table.getEntry("ledMode").setDouble(active ? 3 : 0);
+		ledMode.set(active ? 3 : 0);
 	}
 
 	public void adjustSpeedFactor(double factorDelta) {
@@ -75,14 +115,58 @@ public class ShooterVision implements Subsystem {
 		return isConnected;
 	}
 
+	// Whether this loop had a new frame with the goal in it that the tracker accepted.
+	public boolean hasMeasurement() {
+		return hasMeasurement;
+	}
+
+	// The goal as seen in the latest accepted frame, when it was captured, unfiltered.
+	public double[] getMeasurement() {
+		return measurement;
+	}
+
+	public double getMeasuredDistance() {
+		return measuredDistance;
+	}
+
+	// Whether the tracker has the goal, which carries on through short dropouts.
 	public boolean hasTarget() {
 		return hasTarget;
 	}
 
+	public boolean isNewFrame() {
+		return newFrame;
+	}
+
+	// Seconds between the current frame being captured and it being published.
+	public double getLatency() {
+		return (lastLatency + CAPTURE_LATENCY) / 1000;
+	}
+
+	public double getDistance() {
+		return distance;
+	}
+
+	// Distance the shooter speeds are picked for, after leading the goal.
+	public double getShotDistance() {
+		return shotDistance;
+	}
+
+	public double getSpeedFactor() {
+		return speedFactor;
+	}
+
+	// Tracked position of the goal in the image, moved on to the current loop.
 	public double[] getTarget() {
 		return target;
 	}
 
+	// Where in the image the goal should be once the robot is aimed, in the same units as
+	// the target. Zero unless the robot is moving.
+	public double getAim() {
+		return aim;
+	}
+
 	public double getYawCorrection() {
 		return yawCorrection;
 	}
@@ -97,43 +181,33 @@ public class ShooterVision implements Subsystem {
 
 	@Override
 	public void tick() {
-		long currentTime = System.currentTimeMillis();
-		double timeDeltaSeconds = (currentTime - lastTime) / 1000d;
-		lastTime = currentTime;
+		double timeDeltaSeconds = clock.getDelta();
 
 		{
-			double latency = table.getEntry("tl").getDouble(0);
-			if (latency == lastLatency)
-				timeout++;
-			else
+			double latency = latencyInput.get();
+			newFrame = latency != lastLatency;
+			if (newFrame)
 				timeout = 0;
+			else
+				timeout++;
 			isConnected = timeout < TIMEOUT;
 			lastLatency = latency;
 		}
 
 		int possibleContours;
-		if (table.getEntry("tv").getDouble(0) != 1)
+		if (validInput.get() != 1) {
 			possibleContours = 0;
-		else if (table.getEntry("ta6").getDouble(0) != 0)
-			possibleContours = 7;
-		else if (table.getEntry("ta5").getDouble(0) != 0)
-			possibleContours = 6;
-		else if (table.getEntry("ta4").getDouble(0) != 0)
-			possibleContours = 5;
-		else if (table.getEntry("ta3").getDouble(0) != 0)
-			possibleContours = 4;
-		else if (table.getEntry("ta2").getDouble(0) != 0)
-			possibleContours = 3;
-		else if (table.getEntry("ta1").getDouble(0) != 0)
-			possibleContours = 2;
-		else
-			possibleContours = 1;
+		} else {
+			possibleContours = MAX_CONTOURS;
+			while (possibleContours > 1 && areaInputs[possibleContours - 1].get() == 0)
+				possibleContours--;
+		}
 
 		for (int i = 0; i < possibleContours; i++) {
-			double x = table.getEntry("tx" + i).getDouble(0);
-			double y = table.getEntry("ty" + i).getDouble(0);
+			double x = xInputs[i].get();
+			double y = yInputs[i].get();
 			if (x >= MIN_X && x <= MAX_X && y >= MIN_Y && y <= MAX_Y) {
-				double[] array = ArrayPool.reserve(2);
+				double[] array = ScratchPool.reserve(2);
 				array[0] = x;
 				array[1] = y;
 				contours.add(array);
@@ -164,7 +238,7 @@ public class ShooterVision implements Subsystem {
 				for (int i = 0; i < contours.size(); i++) {
 					double[] array = contours.get(i);
 					if (array != minFirst)
-						ArrayPool.release(array);
+						ScratchPool.release(array);
 				}
 				contours.clear();
 				if (minFirst != null)
@@ -184,16 +258,17 @@ public class ShooterVision implements Subsystem {
 							distance1 > minDistance * MAX_DISTANCE_RATIO) ||
 						(distance0 > MAX_DISTANCE && distance1 > MAX_DISTANCE)) {
 						contours.remove(i);
-						ArrayPool.release(contour);
+						ScratchPool.release(contour);
 						i--;
 					}
 				}
 			}
 		}
 
-		if (contours.size() > 0) {
-			double x;
-			double y;
+		boolean found = contours.size() > 0;
+		double x = 0;
+		double y = 0;
+		if (found) {
 			if (contours.size() >= 3) {
 				double x0 = contours.get(0)[0];
 				double y0 = contours.get(0)[1];
@@ -229,41 +304,58 @@ public class ShooterVision implements Subsystem {
 			}
 
 			for (int i = 0; i < contours.size(); i++)
-				ArrayPool.release(contours.get(i));
+				ScratchPool.release(contours.get(i));
 			contours.clear();
+		}
 
-			hasTarget = true;
-			target[0] = x;
-			target[1] = y;
-			distance = a * y * y * y + b * y * y + c * y + d;
-			aligned = distance * Math.tan(Math.abs(x) * LIMELIGHT_FOV * Math.PI * 2) < TARGET_SIZE;
-
-			ShooterVisionPoint lowPoint = points[0];
-			ShooterVisionPoint highPoint = points[1];
-			for (int i = 2; i < points.length; i++) {
-				if (distance < highPoint.distance)
-					break;
-				lowPoint = highPoint;
-				highPoint = points[i];
+		// The robot turning moves the goal the other way across the image.
+		double shift = -pose.rotate / LIMELIGHT_FOV;
+		tracker.predict(timeDeltaSeconds, shift);
+		hasMeasurement = false;
+		if (newFrame && found) {
+			// The frame is from before the robot's latest turning, so it is moved on by that
+			// much before going to the tracker.
+			double turned = shift / timeDeltaSeconds * getLatency();
+			if (tracker.correct(x + turned, y)) {
+				hasMeasurement = true;
+				measurement[0] = x;
+				measurement[1] = y;
+				measuredDistance = distanceAt(y);
 			}
+		}
 
-			double topSlope = (highPoint.topSpeed - lowPoint.topSpeed) / (highPoint.distance - lowPoint.distance);
-			double bottomSlope = (highPoint.bottomSpeed - lowPoint.bottomSpeed) / (highPoint.distance - lowPoint.distance);
-			double topIntercept = highPoint.topSpeed - topSlope * highPoint.distance;
-			double bottomIntercept = highPoint.bottomSpeed - bottomSlope * highPoint.distance;
-			speeds[0] = (topSlope * distance + topIntercept) * speedFactor;
-			speeds[1] = (bottomSlope * distance + bottomIntercept) * speedFactor;
+		hasTarget = tracker.isTracking();
+		if (hasTarget) {
+			x = tracker.getX();
+			y = tracker.getY();
+			target[0] = x;
+			target[1] = y;
+			distance = distanceAt(y);
+
+			// Pose speed is inches moved this loop, field relative.
+			double speed = pose.linearSpeed / timeDeltaSeconds / 12;
+			double direction = (pose.linearAngle - pose.angle) * Math.PI * 2;
+			solver.solve(distance, x * LIMELIGHT_FOV, Math.sin(direction) * speed, Math.cos(direction) * speed);
+			shotDistance = solver.getDistance();
+			aim = (x * LIMELIGHT_FOV - solver.getYaw()) / LIMELIGHT_FOV;
+			aligned = shotDistance * Math.tan(Math.abs(solver.getYaw()) * Math.PI * 2) < TARGET_SIZE;
+
+			map.lookup(shotDistance, speeds);
+			speeds[0] *= speedFactor;
+			speeds[1] *= speedFactor;
 		} else {
 			hasTarget = false;
 			target[0] = 0;
 			target[1] = 0;
 			distance = 0;
+			shotDistance = 0;
+			aim = 0;
 			aligned = false;
 			speeds[0] = 0;
 			speeds[1] = 0;
 		}
 
-		double error = target[0];
+		double error = target[0] - aim;
 		if (Math.abs(error) <= pid.integralZone) {
 			iacc += error * timeDeltaSeconds;
 			if (Math.abs(iacc) > pid.maxIntegralAccumulator)
@@ -275,17 +367,22 @@ public class ShooterVision implements Subsystem {
 		lastErr = error;
 	}
 
+	private double distanceAt(double y) {
+		return a * y * y * y + b * y * y + c * y + d;
+	}
+
 	public void configure(ShooterVisionConfig config) {
 		pid = config.pid;
 
-		points = config.points;
+		map = new ShooterMap(config.points);
 		a = config.a;
 		b = config.b;
 		c = config.c;
 		d = config.d;
 		speedFactor = config.speedFactor;
+		solver.configure(config);
+		tracker.configure(config);
 
-		lastTime = System.currentTimeMillis();
 		iacc = 0;
 		lastErr = 0;
 	}
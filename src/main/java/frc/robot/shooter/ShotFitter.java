@@ -0,0 +1,215 @@
+package frc.robot.shooter;
+
+import java.io.BufferedInputStream;
+import java.io.DataInputStream;
+import java.io.EOFException;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import frc.robot.config.ShooterVisionConfig;
+import frc.robot.config.ShooterVisionConfig.ShooterVisionPoint;
+
+// Rebuilds the shooter distance table from shot logs. Each made shot is moved to the
+// nearest table distance along the slope of the current table, and a point is replaced by
+// the average of its made shots once it has enough of them. Shots past either end of the
+// table start new points at the same spacing. Points without enough makes are kept as
+// they are, so the table only changes where there is data for it. Speeds are divided by
+// the speed factor they were shot with, since the robot multiplies the table by it.
+//
+//   ./gradlew fitShooterPoints --args="src/main/deploy/shootervisionpoints.json src/main/deploy/shootervisionpoints.json shots.bin"
+public class ShotFitter {
+
+	public static final int DEFAULT_MIN_MAKES = 3;
+
+	private final ShooterVisionPoint[] points;
+	private final List<Shot> shots = new ArrayList<>();
+
+	public int minMakes = DEFAULT_MIN_MAKES;
+
+	private static class Shot {
+
+		public double shotDistance;
+		public double topVelocity;
+		public double bottomVelocity;
+		public double speedFactor;
+		// Null until tagged.
+		public Boolean made;
+	}
+
+	public ShotFitter(ShooterVisionPoint[] points) {
+		if (points == null)
+			throw new IllegalArgumentException("points is null");
+		if (points.length < 2)
+			throw new IllegalArgumentException("points has less than 2 points");
+		this.points = points.clone();
+		Arrays.sort(this.points, (a, b) -> Double.compare(a.distance, b.distance));
+	}
+
+	public void read(String file) throws IOException {
+		try (DataInputStream input = new DataInputStream(new BufferedInputStream(new FileInputStream(file)))) {
+			Map<Integer, Shot> session = null;
+			while (true) {
+				int type = input.read();
+				if (type < 0)
+					break;
+				try {
+					if (type == ShotRecorder.SESSION) {
+						if (input.readInt() != ShotRecorder.MAGIC)
+							throw new IOException(file + " is not a shot log");
+						if (input.readInt() != ShotRecorder.VERSION)
+							throw new IOException(file + " has an unknown version");
+						input.readLong();
+						session = new HashMap<>();
+					} else if (type == ShotRecorder.SHOT && session != null) {
+						int id = input.readInt();
+						input.readDouble();
+						input.readDouble();
+						Shot shot = new Shot();
+						shot.shotDistance = input.readDouble();
+						input.readDouble();
+						input.readDouble();
+						shot.topVelocity = input.readDouble();
+						shot.bottomVelocity = input.readDouble();
+						shot.speedFactor = input.readDouble();
+						session.put(id, shot);
+						shots.add(shot);
+					} else if (type == ShotRecorder.TAG && session != null) {
+						Shot shot = session.get(input.readInt());
+						boolean made = input.readByte() != 0;
+						if (shot != null)
+							shot.made = made;
+					} else {
+						throw new IOException(file + " has a bad record");
+					}
+				} catch (EOFException e) {
+					// The robot was switched off partway through a record.
+					break;
+				}
+			}
+		}
+	}
+
+	public ShooterVisionPoint[] fit(PrintWriter report) {
+		ShooterMap map = new ShooterMap(points);
+		double[] atShot = new double[2];
+		double[] atPoint = new double[2];
+
+		// Table distances, extended past the ends far enough to cover every shot.
+		List<Double> distances = new ArrayList<>();
+		double lowSpacing = points[1].distance - points[0].distance;
+		double highSpacing = points[points.length - 1].distance - points[points.length - 2].distance;
+		double min = points[0].distance;
+		double max = points[points.length - 1].distance;
+		for (Shot shot : shots) {
+			min = Math.min(min, shot.shotDistance);
+			max = Math.max(max, shot.shotDistance);
+		}
+		for (double d = points[0].distance - lowSpacing; d > min - lowSpacing / 2; d -= lowSpacing)
+			distances.add(0, d);
+		for (ShooterVisionPoint point : points)
+			distances.add(point.distance);
+		for (double d = points[points.length - 1].distance + highSpacing; d < max + highSpacing / 2; d += highSpacing)
+			distances.add(d);
+
+		int count = distances.size();
+		int[] attempts = new int[count];
+		int[] makes = new int[count];
+		double[] topSums = new double[count];
+		double[] bottomSums = new double[count];
+		for (Shot shot : shots) {
+			if (shot.made == null)
+				continue;
+			int nearest = 0;
+			for (int i = 1; i < count; i++) {
+				if (Math.abs(distances.get(i) - shot.shotDistance) < Math.abs(distances.get(nearest) - shot.shotDistance))
+					nearest = i;
+			}
+			attempts[nearest]++;
+			if (!shot.made)
+				continue;
+			makes[nearest]++;
+			map.lookup(shot.shotDistance, atShot);
+			map.lookup(distances.get(nearest), atPoint);
+			topSums[nearest] += shot.topVelocity / shot.speedFactor + atPoint[0] - atShot[0];
+			bottomSums[nearest] += shot.bottomVelocity / shot.speedFactor + atPoint[1] - atShot[1];
+		}
+
+		List<ShooterVisionPoint> result = new ArrayList<>();
+		report.printf("%8s %6s %6s %12s %12s%n", "distance", "shots", "makes", "top", "bottom");
+		for (int i = 0; i < count; i++) {
+			double distance = distances.get(i);
+			ShooterVisionPoint existing = null;
+			for (ShooterVisionPoint point : points) {
+				if (point.distance == distance)
+					existing = point;
+			}
+
+			ShooterVisionPoint point = new ShooterVisionPoint();
+			point.distance = distance;
+			String change;
+			if (makes[i] >= minMakes) {
+				point.topSpeed = Math.round(topSums[i] / makes[i]);
+				point.bottomSpeed = Math.round(bottomSums[i] / makes[i]);
+				change = existing == null ? "new" : String.format("was %.0f/%.0f", existing.topSpeed, existing.bottomSpeed);
+			} else if (existing != null) {
+				point.topSpeed = existing.topSpeed;
+				point.bottomSpeed = existing.bottomSpeed;
+				change = "kept";
+			} else {
+				continue;
+			}
+			result.add(point);
+			report.printf("%8.2f %6d %6d %12.0f %12.0f  %s%n", distance, attempts[i], makes[i],
+							point.topSpeed, point.bottomSpeed, change);
+		}
+		report.flush();
+		return result.toArray(new ShooterVisionPoint[0]);
+	}
+
+	// Same layout as the hand edited file, so diffs stay readable.
+	public static void write(ShooterVisionPoint[] points, String file) throws IOException {
+		StringBuilder json = new StringBuilder("{\n\t\"speeds\": [\n");
+		for (int i = 0; i < points.length; i++) {
+			json.append("\t\t{\n");
+			json.append("\t\t\t\"distance\": ").append(format(points[i].distance)).append(",\n");
+			json.append("\t\t\t\"topspeed\": ").append(format(points[i].topSpeed)).append(",\n");
+			json.append("\t\t\t\"bottomspeed\": ").append(format(points[i].bottomSpeed)).append("\n");
+			json.append(i < points.length - 1 ? "\t\t},\n" : "\t\t}\n");
+		}
+		json.append("\t]\n}\n");
+		Files.write(Paths.get(file), json.toString().getBytes());
+	}
+
+	private static String format(double value) {
+		if (value == Math.rint(value))
+			return Long.toString((long) value);
+		return String.format("%.3f", value).replaceAll("0+$", "");
+	}
+
+	public static void main(String[] args) throws IOException {
+		if (args.length < 3) {
+			System.err.println("usage: ShotFitter <points.json> <output.json> <shots.bin>... [--min-makes n]");
+			System.exit(2);
+		}
+
+		ShotFitter fitter = new ShotFitter(ShooterVisionConfig.parsePoints(Files.readAllBytes(Paths.get(args[0]))));
+		for (int i = 2; i < args.length; i++) {
+			if (args[i].equals("--min-makes")) {
+				if (i + 1 == args.length)
+					throw new IllegalArgumentException(args[i] + " has no value");
+				fitter.minMakes = Integer.parseInt(args[++i]);
+			} else {
+				fitter.read(args[i]);
+			}
+		}
+		write(fitter.fit(new PrintWriter(System.out)), args[1]);
+	}
+}
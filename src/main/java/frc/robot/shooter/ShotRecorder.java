@@ -0,0 +1,93 @@
+package frc.robot.shooter;
+
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+
+import frc.robot.LoopClock;
+
+// Appends every shot to a binary log on the robot, along with whether the operator tagged
+// it as made or missed, so ShotFitter can rebuild the distance table from match data.
+// Each record is encoded into a preallocated buffer and written with a single call, so a
+// shot costs one write to the page cache and no allocation. Every time the log is opened
+// a session record goes in first, and shot ids count up from zero within a session.
+public class ShotRecorder {
+
+	public static final int MAGIC = 0x53484F54;
+	public static final int VERSION = 1;
+
+	public static final byte SESSION = 0;
+	public static final byte SHOT = 1;
+	public static final byte TAG = 2;
+
+	private final FileOutputStream output;
+	private final LoopClock clock;
+	private final byte[] record = new byte[128];
+	private final ByteBuffer buffer = ByteBuffer.wrap(record);
+
+	private int shots = 0;
+	private boolean failed = false;
+
+	public ShotRecorder(String file, LoopClock clock) throws IOException {
+		if (file == null)
+			throw new IllegalArgumentException("file is null");
+		if (clock == null)
+			throw new IllegalArgumentException("clock is null");
+		this.clock = clock;
+		output = new FileOutputStream(file, true);
+
+		buffer.clear();
+		buffer.put(SESSION);
+		buffer.putInt(MAGIC);
+		buffer.putInt(VERSION);
+		buffer.putLong(System.currentTimeMillis());
+		write();
+	}
+
+	// Distance is what the vision saw and shot distance is what the speeds were picked for,
+	// which differ when shooting on the move. Speeds are the targets and what the encoders
+	// read when the feeder started.
+	public void recordShot(double distance, double shotDistance, double topTarget, double bottomTarget,
+							double topVelocity, double bottomVelocity, double speedFactor) {
+		buffer.clear();
+		buffer.put(SHOT);
+		buffer.putInt(shots++);
+		buffer.putDouble(clock.getTime());
+		buffer.putDouble(distance);
+		buffer.putDouble(shotDistance);
+		buffer.putDouble(topTarget);
+		buffer.putDouble(bottomTarget);
+		buffer.putDouble(topVelocity);
+		buffer.putDouble(bottomVelocity);
+		buffer.putDouble(speedFactor);
+		write();
+	}
+
+	// Tags the latest shot. Tagging again replaces the earlier tag.
+	public void tagLastShot(boolean made) {
+		if (shots == 0)
+			return;
+		buffer.clear();
+		buffer.put(TAG);
+		buffer.putInt(shots - 1);
+		buffer.put((byte) (made ? 1 : 0));
+		write();
+	}
+
+	public int getShotCount() {
+		return shots;
+	}
+
+	private void write() {
+		if (failed)
+			return;
+		try {
+			output.write(record, 0, buffer.position());
+		} catch (IOException e) {
+			// Not worth failing the loop over, so stop recording.
+			System.err.println("Error writing shot log, recording stopped");
+			System.err.println(e);
+			failed = true;
+		}
+	}
+}
@@ -0,0 +1,63 @@
+package frc.robot.shooter;
+
+import frc.robot.config.ShooterVisionConfig;
+
+// Works out where to aim so a ball fired from a moving robot still lands in the goal. The
+// ball leaves with the robot's velocity on top of its own, so the robot has to aim at a
+// virtual goal moved back along that velocity by the ball's flight time. The flight time
+// depends on the distance to the virtual goal, so the two are iterated a fixed number of
+// times. The flight time changes slowly with distance, so that converges in a few steps.
+public class ShotSolver {
+
+	public static final int ITERATIONS = 4;
+
+	private double flightTimeBase;
+	private double flightTimeSlope;
+
+	private double yaw;
+	private double distance;
+	private double flightTime;
+
+	public ShotSolver(ShooterVisionConfig config) {
+		configure(config);
+	}
+
+	// Distance in feet and bearing in turns clockwise from the front of the robot, to the
+	// real goal. Velocity in feet per second, x to the right and y forward of the robot.
+	public void solve(double goalDistance, double goalBearing, double velocityX, double velocityY) {
+		double goalX = Math.sin(goalBearing * Math.PI * 2) * goalDistance;
+		double goalY = Math.cos(goalBearing * Math.PI * 2) * goalDistance;
+
+		double x = goalX;
+		double y = goalY;
+		double time = 0;
+		for (int i = 0; i < ITERATIONS; i++) {
+			time = flightTimeBase + flightTimeSlope * Math.sqrt(x * x + y * y);
+			x = goalX - velocityX * time;
+			y = goalY - velocityY * time;
+		}
+
+		yaw = Math.atan2(x, y) / Math.PI / 2;
+		distance = Math.sqrt(x * x + y * y);
+		flightTime = time;
+	}
+
+	// Turns clockwise the robot has to turn to aim at the virtual goal.
+	public double getYaw() {
+		return yaw;
+	}
+
+	// Distance to the virtual goal, which is what the shooter speeds should be picked for.
+	public double getDistance() {
+		return distance;
+	}
+
+	public double getFlightTime() {
+		return flightTime;
+	}
+
+	public void configure(ShooterVisionConfig config) {
+		flightTimeBase = config.flightTimeBase;
+		flightTimeSlope = config.flightTimeSlope;
+	}
+}
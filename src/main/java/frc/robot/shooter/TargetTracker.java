@@ -0,0 +1,139 @@
+package frc.robot.shooter;
+
+import frc.robot.config.ShooterVisionConfig;
+
+// Kalman filter on where the goal is in the Limelight image. Horizontally it tracks the
+// position and its rate, and the robot's own turning is fed in as a known shift, so the
+// estimate moves as soon as the robot does instead of a frame later. Vertically the goal
+// only moves as the distance changes, so that is just a position.
+//
+// Measurements too far from the prediction for the filter's own uncertainty are thrown
+// out, unless several in a row are, which means the goal really did move. Between frames,
+// and through short dropouts, the estimate is carried forward on the prediction.
+public class TargetTracker {
+
+	// Squared Mahalanobis distance measurements are gated at, 99% for two dimensions.
+	public static final double GATE = 9.21;
+	public static final int MAX_REJECTED = 3;
+	// Nothing is known about the rate from one frame, so allow for about an image unit a second.
+	public static final double INITIAL_RATE_VARIANCE = 1;
+
+	private double processNoise;
+	private double measurementNoise;
+	private double coastTime;
+
+	private boolean tracking = false;
+	private double sinceMeasurement = 0;
+	private int rejected = 0;
+
+	private double x;
+	private double rate;
+	private double y;
+	// Covariance of x and rate, and the variance of y.
+	private double pxx;
+	private double pxr;
+	private double prr;
+	private double pyy;
+
+	public TargetTracker(ShooterVisionConfig config) {
+		configure(config);
+	}
+
+	// Shift is how far the robot's turning moved the goal in the image since the last call.
+	public void predict(double dt, double shift) {
+		if (!tracking)
+			return;
+		sinceMeasurement += dt;
+		if (sinceMeasurement > coastTime) {
+			tracking = false;
+			return;
+		}
+
+		x += rate * dt + shift;
+		double q = processNoise;
+		pxx += dt * (2 * pxr + dt * prr) + q * dt * dt * dt / 3;
+		pxr += dt * prr + q * dt * dt / 2;
+		prr += q * dt;
+		pyy += q * dt;
+	}
+
+	// Returns whether the measurement was used.
+	public boolean correct(double measuredX, double measuredY) {
+		if (!tracking) {
+			start(measuredX, measuredY);
+			return true;
+		}
+
+		double r = measurementNoise;
+		double innovationX = measuredX - x;
+		double innovationY = measuredY - y;
+		double sx = pxx + r;
+		double sy = pyy + r;
+		if (innovationX * innovationX / sx + innovationY * innovationY / sy > GATE) {
+			if (++rejected < MAX_REJECTED)
+				return false;
+			start(measuredX, measuredY);
+			return true;
+		}
+		rejected = 0;
+		sinceMeasurement = 0;
+
+		double kx = pxx / sx;
+		double kr = pxr / sx;
+		x += kx * innovationX;
+		rate += kr * innovationX;
+		prr -= kr * pxr;
+		pxr -= kr * pxx;
+		pxx -= kx * pxx;
+
+		double ky = pyy / sy;
+		y += ky * innovationY;
+		pyy -= ky * pyy;
+		return true;
+	}
+
+	public void reset() {
+		tracking = false;
+	}
+
+	public boolean isTracking() {
+		return tracking;
+	}
+
+	public double getX() {
+		return x;
+	}
+
+	public double getY() {
+		return y;
+	}
+
+	// Image units per second, not counting the robot's own turning.
+	public double getRate() {
+		return rate;
+	}
+
+	public void configure(ShooterVisionConfig config) {
+		if (!(config.trackerProcessNoise > 0))
+			throw new IllegalArgumentException("trackerProcessNoise is not positive");
+		if (!(config.trackerMeasurementNoise > 0))
+			throw new IllegalArgumentException("trackerMeasurementNoise is not positive");
+		processNoise = config.trackerProcessNoise;
+		measurementNoise = config.trackerMeasurementNoise;
+		coastTime = config.trackerCoastTime;
+		tracking = false;
+	}
+
+	private void start(double measuredX, double measuredY) {
+		tracking = true;
+		sinceMeasurement = 0;
+		rejected = 0;
+		x = measuredX;
+		y = measuredY;
+		rate = 0;
+		pxx = measurementNoise;
+		pxr = 0;
+		prr = INITIAL_RATE_VARIANCE;
+		pyy = measurementNoise;
+	}
+}
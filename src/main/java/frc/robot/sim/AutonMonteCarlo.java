@@ -0,0 +1,269 @@
+package frc.robot.sim;
+
+import java.util.Arrays;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+import frc.robot.config.SwerveDriveConfig;
+import frc.robot.config.TrajectoryConfig;
+import frc.robot.profiles.auton.planned.AutonPlan;
+import frc.robot.profiles.auton.planned.AutonPlan.AutonPlanPoint;
+import frc.robot.profiles.auton.planned.AutonTrajectory;
+import frc.robot.profiles.auton.steps.SequencedAutonProfile;
+import frc.robot.vision.IBallVision;
+
+// Runs an auton plan many times in simulation with a little noise in each run and reports
+// how long it takes, how long each step of its sequence takes and where the robot ends
+// up. Each run has its own simulation and its own seeded random, so the results only
+// depend on the arguments, not on the threads.
+//
+//   ./gradlew autonMonteCarlo --args="quint src/main/deploy/quintautonplan.json src/main/deploy/swerveconfig.ini src/main/deploy/trajectoryconfig.ini --runs 2000"
+public class AutonMonteCarlo {
+
+	public static final int BATCH = 16;
+
+	private final String name;
+	private final AutonTrajectory trajectory;
+	private final AutonPlan plan;
+	private final SwerveDriveConfig config;
+
+	public int runs = 1000;
+	public long seed = 0;
+	public double timeLimit = 15;
+	// Standard deviation of the carpet friction, as a fraction of the nominal.
+	public double frictionDeviation = 0.1;
+	// Standard deviation of the gyro drift, in degrees per second.
+	public double gyroDriftDeviation = 0.05;
+	// Chance of the ball camera missing the ball on any frame.
+	public double visionDropout = 0.1;
+	// Standard deviation of the ball camera's strafe correction when it does see the ball.
+	public double visionNoise = 0.05;
+
+	private double[] times;
+	private double[] positionErrors;
+	private double[] angleErrors;
+	private double[] odometryErrors;
+	private String[] stepNames;
+	private double[][] stepTimes;
+
+	// The name is only used in the report.
+	public AutonMonteCarlo(String name, AutonTrajectory trajectory, SwerveDriveConfig config) {
+		if (name == null)
+			throw new IllegalArgumentException("name is null");
+		if (trajectory == null)
+			throw new IllegalArgumentException("trajectory is null");
+		if (config == null)
+			throw new IllegalArgumentException("config is null");
+		this.name = name;
+		this.trajectory = trajectory;
+		plan = trajectory.getPlan();
+		this.config = config;
+	}
+
+	public void run(ForkJoinPool pool) {
+		times = new double[runs];
+		positionErrors = new double[runs];
+		angleErrors = new double[runs];
+		odometryErrors = new double[runs];
+		stepTimes = new double[runs][];
+		pool.invoke(new Batch(0, runs));
+	}
+
+	private void run(int run) {
+		Random random = new Random(seed + run);
+
+		SwervePhysics physics = new SwervePhysics();
+		physics.frictionCoefficient *= Math.max(1 + random.nextGaussian() * frictionDeviation, 0.1);
+		AutonSimulation simulation = new AutonSimulation(config, physics);
+		simulation.getSimulation().setGyroDrift(random.nextGaussian() * gyroDriftDeviation);
+
+		SequencedAutonProfile profile = new SequencedAutonProfile(simulation.getClock(), simulation.getPose(),
+																	trajectory, new SimulatedBallVision(random));
+
+		times[run] = simulation.run(profile, plan.start, timeLimit);
+		stepTimes[run] = new double[profile.getStepCount()];
+		for (int i = 0; i < stepTimes[run].length; i++)
+			stepTimes[run][i] = profile.getStepTime(i);
+		if (run == 0)
+			stepNames = stepNames(profile);
+
+		SwerveDriveSimulation truth = simulation.getSimulation();
+		AutonPlanPoint end = plan.points[plan.points.length - 1];
+		positionErrors[run] = Math.hypot(truth.getX() - end.x, truth.getY() - end.y);
+		angleErrors[run] = Math.abs(wrap(truth.getAngle() - end.angle)) * 360;
+		odometryErrors[run] = Math.hypot(truth.getX() - simulation.getPose().x,
+											truth.getY() - simulation.getPose().y);
+	}
+
+	private static String[] stepNames(SequencedAutonProfile profile) {
+		String[] names = new String[profile.getStepCount()];
+		for (int i = 0; i < names.length; i++)
+			names[i] = profile.getStepName(i);
+		return names;
+	}
+
+	public void report() {
+		int finished = 0;
+		double[] finishedTimes = new double[runs];
+		for (double time : times) {
+			if (!Double.isNaN(time))
+				finishedTimes[finished++] = time;
+		}
+		System.out.printf("%s: %d runs, %.1f%% finished within %.1f s%n", name, runs,
+							100.0 * finished / runs, timeLimit);
+		print("time (s)", Arrays.copyOf(finishedTimes, finished));
+		print("position error (in)", positionErrors.clone());
+		print("angle error (deg)", angleErrors.clone());
+		print("odometry error (in)", odometryErrors.clone());
+
+		// Steps that didn't finish in a run are left out of that step's numbers.
+		System.out.println("  step times (s)");
+		for (int step = 0; step < stepNames.length; step++) {
+			int count = 0;
+			double[] values = new double[runs];
+			for (double[] run : stepTimes) {
+				if (!Double.isNaN(run[step]))
+					values[count++] = run[step];
+			}
+			print("  " + stepNames[step], Arrays.copyOf(values, count));
+		}
+	}
+
+	private static void print(String name, double[] values) {
+		if (values.length == 0) {
+			System.out.printf("  %-20s none%n", name);
+			return;
+		}
+		Arrays.sort(values);
+		System.out.printf("  %-20s p5 %7.2f  p50 %7.2f  p95 %7.2f  max %7.2f%n", name,
+							percentile(values, 0.05), percentile(values, 0.5),
+							percentile(values, 0.95), values[values.length - 1]);
+	}
+
+	private static double percentile(double[] sorted, double fraction) {
+		return sorted[(int) Math.min(fraction * sorted.length, sorted.length - 1)];
+	}
+
+	private static double wrap(double angle) {
+		return ((angle + 0.5) % 1 + 1) % 1 - 0.5;
+	}
+
+	// Splits the runs in half until they are small enough to do on one thread.
+	private class Batch extends RecursiveAction {
+
+		private final int start;
+		private final int end;
+
+		public Batch(int start, int end) {
+			this.start = start;
+			this.end = end;
+		}
+
+		@Override
+		protected void compute() {
+			if (end - start <= BATCH) {
+				for (int i = start; i < end; i++)
+					run(i);
+			} else {
+				int middle = (start + end) >>> 1;
+				invokeAll(new Batch(start, middle), new Batch(middle, end));
+			}
+		}
+	}
+
+	// There are no balls in the simulation, so the camera sees one straight ahead and is
+	// only wrong by its noise, except on the frames it drops.
+	private class SimulatedBallVision implements IBallVision {
+
+		private final Random random;
+		private double correction = 0;
+
+		public SimulatedBallVision(Random random) {
+			this.random = random;
+		}
+
+		@Override
+		public void setActive(boolean active) {}
+
+		@Override
+		public boolean hasTarget() {
+			if (random.nextDouble() < visionDropout)
+				return false;
+			correction = random.nextGaussian() * visionNoise;
+			return true;
+		}
+
+		@Override
+		public boolean hasFrame() {
+			return true;
+		}
+
+		@Override
+		public double getCorrection() {
+			return correction;
+		}
+
+		// Every loop is a fresh frame.
+		@Override
+		public double getAge() {
+			return 0;
+		}
+	}
+
+	public static void main(String[] args) throws Exception {
+		if (args.length < 4) {
+			System.err.println("usage: AutonMonteCarlo <name> <plan.json> <swerveconfig.ini> <trajectoryconfig.ini> " +
+								"[--runs n] [--threads n] [--seed n] [--time-limit s] [--friction-sd f] " +
+								"[--gyro-drift-sd deg/s] [--vision-dropout p] [--vision-noise sd]");
+			System.exit(2);
+		}
+
+		AutonTrajectory trajectory = AutonTrajectory.generate(AutonPlan.load(args[1]),
+																TrajectoryConfig.load(args[3]),
+																AutonSimulation.PERIOD);
+		AutonMonteCarlo monteCarlo = new AutonMonteCarlo(args[0], trajectory, SwerveDriveConfig.load(args[2]));
+		int threads = Runtime.getRuntime().availableProcessors();
+		for (int i = 4; i < args.length; i += 2) {
+			if (i + 1 == args.length)
+				throw new IllegalArgumentException(args[i] + " has no value");
+			String value = args[i + 1];
+			switch (args[i]) {
+				case "--runs":
+					monteCarlo.runs = Integer.parseInt(value);
+					break;
+				case "--threads":
+					threads = Integer.parseInt(value);
+					break;
+				case "--seed":
+					monteCarlo.seed = Long.parseLong(value);
+					break;
+				case "--time-limit":
+					monteCarlo.timeLimit = Double.parseDouble(value);
+					break;
+				case "--friction-sd":
+					monteCarlo.frictionDeviation = Double.parseDouble(value);
+					break;
+				case "--gyro-drift-sd":
+					monteCarlo.gyroDriftDeviation = Double.parseDouble(value);
+					break;
+				case "--vision-dropout":
+					monteCarlo.visionDropout = Double.parseDouble(value);
+					break;
+				case "--vision-noise":
+					monteCarlo.visionNoise = Double.parseDouble(value);
+					break;
+				default:
+					throw new IllegalArgumentException("unknown option " + args[i]);
+			}
+		}
+
+		ForkJoinPool pool = new ForkJoinPool(threads);
+		long start = System.nanoTime();
+		monteCarlo.run(pool);
+		pool.shutdown();
+		monteCarlo.report();
+		System.out.printf("%d threads, %.1f s%n", threads, (System.nanoTime() - start) / 1e9);
+		System.exit(0);
+	}
+}
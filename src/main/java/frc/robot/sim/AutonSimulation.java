@@ -0,0 +1,97 @@
+package frc.robot.sim;
+
+import frc.robot.LoopClock;
+import frc.robot.config.SwerveDriveConfig;
+import frc.robot.io.FakeGyro;
+import frc.robot.io.FakeMotorController;
+import frc.robot.profiles.auton.planned.AutonPlan.AutonStartPoint;
+import frc.robot.profiles.auton.planned.PlannedAutonProfile;
+import frc.robot.swerve.FourCornerSwerveDrive;
+import frc.robot.swerve.ISwerveModule;
+import frc.robot.swerve.RobotPose;
+import frc.robot.swerve.SDSMk4FXModule;
+import frc.robot.swerve.SwerveKinematics;
+import frc.robot.swerve.SwerveMode;
+
+// The robot's drive code on simulated hardware, run through an auton profile the way
+// Robot does it but without the rest of the robot. Everything lives in this object, so
+// separate instances can run on separate threads.
+public class AutonSimulation {
+
+	public static final double PERIOD = 0.02;
+	// The robot sits disabled before auton, long enough for the modules to pick up their
+	// absolute encoders.
+	public static final double DISABLED_TIME = 1.5;
+
+	// Simulated time, which the clock also reads for getNow.
+	private long nanos = 0;
+	private final LoopClock clock = new LoopClock(PERIOD, () -> nanos);
+	private final RobotPose pose = new RobotPose();
+	private final FourCornerSwerveDrive drive;
+	private final SwerveDriveSimulation simulation;
+
+	public AutonSimulation(SwerveDriveConfig config, SwervePhysics physics) {
+		if (config == null)
+			throw new IllegalArgumentException("config is null");
+		if (physics == null)
+			throw new IllegalArgumentException("physics is null");
+
+		FakeMotorController[] motors = new FakeMotorController[SwerveKinematics.MODULES * 2];
+		ISwerveModule[] modules = new ISwerveModule[SwerveKinematics.MODULES];
+		for (int i = 0; i < modules.length; i++) {
+			motors[i * 2] = new FakeMotorController();
+			motors[i * 2 + 1] = new FakeMotorController();
+			modules[i] = new SDSMk4FXModule(motors[i * 2], motors[i * 2 + 1], 0, 0, clock,
+											config.moduleConfig);
+		}
+		FakeGyro gyro = new FakeGyro();
+		drive = new FourCornerSwerveDrive(modules[FourCornerSwerveDrive.FRONT_LEFT],
+											modules[FourCornerSwerveDrive.FRONT_RIGHT],
+											modules[FourCornerSwerveDrive.BACK_LEFT],
+											modules[FourCornerSwerveDrive.BACK_RIGHT],
+											gyro, pose, clock, config);
+		simulation = new SwerveDriveSimulation(motors, gyro, physics, config);
+	}
+
+	// Where the robot thinks it is. Profiles have to be made with this pose and clock.
+	public RobotPose getPose() {
+		return pose;
+	}
+
+	public LoopClock getClock() {
+		return clock;
+	}
+
+	public SwerveDriveSimulation getSimulation() {
+		return simulation;
+	}
+
+	// Places the robot at the start, runs the profile until it finishes or the time limit
+	// passes, and returns the seconds it took, or NaN if it didn't finish.
+	public double run(PlannedAutonProfile profile, AutonStartPoint start, double timeLimit) {
+		simulation.setPose(start.x, start.y, start.angle);
+		for (double time = 0; time < DISABLED_TIME; time += PERIOD) {
+			drive.setTargetVelocity(0, 0, 0);
+			loop();
+		}
+
+		profile.reset();
+		for (double time = 0; time < timeLimit; time += PERIOD) {
+			profile.update();
+			if (profile.isFinished())
+				return time;
+			drive.setMode(SwerveMode.NORMAL);
+			drive.setTargetVelocity(profile.getSwerveLinearAngle(), profile.getSwerveLinearSpeed(),
+									profile.getSwerveRotate());
+			loop();
+		}
+		return Double.NaN;
+	}
+
+	private void loop() {
+		nanos += (long) (PERIOD * 1e9);
+		clock.update();
+		drive.tick();
+		simulation.step(PERIOD);
+	}
+}
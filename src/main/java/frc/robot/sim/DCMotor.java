@@ -0,0 +1,40 @@
+package frc.robot.sim;
+
+// Steady state model of a brushed or brushless DC motor from its datasheet numbers.
+public class DCMotor {
+
+	public static final DCMotor FALCON_500 = new DCMotor(12, 4.69, 257, 1.5, 6380 * Math.PI * 2 / 60);
+
+	public final double nominalVoltage;
+	public final double stallTorque;
+	public final double stallCurrent;
+	public final double freeCurrent;
+	public final double freeSpeed;
+
+	// Ohms, rad/s per volt and N m per amp.
+	public final double resistance;
+	public final double kv;
+	public final double kt;
+
+	// Torque in N m, currents in amps, speed in rad/s.
+	public DCMotor(double nominalVoltage, double stallTorque, double stallCurrent,
+					double freeCurrent, double freeSpeed) {
+		this.nominalVoltage = nominalVoltage;
+		this.stallTorque = stallTorque;
+		this.stallCurrent = stallCurrent;
+		this.freeCurrent = freeCurrent;
+		this.freeSpeed = freeSpeed;
+
+		resistance = nominalVoltage / stallCurrent;
+		kv = freeSpeed / (nominalVoltage - resistance * freeCurrent);
+		kt = stallTorque / stallCurrent;
+	}
+
+	public double getCurrent(double voltage, double speed) {
+		return (voltage - speed / kv) / resistance;
+	}
+
+	public double getTorque(double current) {
+		return current * kt;
+	}
+}
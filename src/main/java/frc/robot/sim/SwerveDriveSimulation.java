@@ -0,0 +1,173 @@
+package frc.robot.sim;
+
+import frc.robot.config.SwerveDriveConfig;
+import frc.robot.io.FakeGyro;
+import frc.robot.io.FakeMotorController;
+import frc.robot.swerve.FourCornerSwerveDrive;
+import frc.robot.swerve.RobotPose;
+import frc.robot.swerve.SwerveKinematics;
+
+// Rigid body simulation of the robot on four simulated modules. It reads what the drive
+// code told the fake Talons, moves the robot, and writes the encoders and gyro back, so
+// the real drive code can be run against it. Positions are kept in SI units and handed
+// out in the robot's own units, inches and clockwise turns.
+public class SwerveDriveSimulation {
+
+	public static final double INCHES_TO_METERS = 0.0254;
+	// Longest step the physics takes, any longer step is split up.
+	public static final double MAX_STEP = TalonSimulation.LOOP_PERIOD;
+	// Speeds below this, in m/s and rad/s, are taken as stopped. Without it a robot coming
+	// to rest decays into subnormal doubles, which are many times slower to work with.
+	public static final double REST_SPEED = 1e-9;
+
+	private final SwerveModuleSimulation[] modules = new SwerveModuleSimulation[SwerveKinematics.MODULES];
+	private final double[] moduleX = new double[SwerveKinematics.MODULES];
+	private final double[] moduleY = new double[SwerveKinematics.MODULES];
+	private final FakeGyro gyro;
+	private final SwervePhysics physics;
+
+	// Field position in meters, heading in radians clockwise, and their rates.
+	private double x = 0;
+	private double y = 0;
+	private double heading = 0;
+	private double velocityX = 0;
+	private double velocityY = 0;
+	private double angularVelocity = 0;
+
+	private double gyroDrift = 0;
+	private double time = 0;
+
+	// Motors are in FourCornerSwerveDrive order, steering then drive for each module.
+	public SwerveDriveSimulation(FakeMotorController[] motors, FakeGyro gyro, SwervePhysics physics,
+									SwerveDriveConfig config) {
+		if (motors == null || motors.length < SwerveKinematics.MODULES * 2)
+			throw new IllegalArgumentException("length is less than 8");
+		if (gyro == null)
+			throw new IllegalArgumentException("gyro is null");
+		if (physics == null)
+			throw new IllegalArgumentException("physics is null");
+		this.gyro = gyro;
+		this.physics = physics;
+		for (int i = 0; i < SwerveKinematics.MODULES; i++)
+			modules[i] = new SwerveModuleSimulation(motors[i * 2], motors[i * 2 + 1], physics,
+													config.moduleConfig);
+		configure(config);
+		updateGyro();
+	}
+
+	public void configure(SwerveDriveConfig config) {
+		double halfWidth = config.width / 2 * INCHES_TO_METERS;
+		double halfLength = config.length / 2 * INCHES_TO_METERS;
+		setModulePosition(FourCornerSwerveDrive.FRONT_LEFT, -halfWidth, halfLength);
+		setModulePosition(FourCornerSwerveDrive.FRONT_RIGHT, halfWidth, halfLength);
+		setModulePosition(FourCornerSwerveDrive.BACK_LEFT, -halfWidth, -halfLength);
+		setModulePosition(FourCornerSwerveDrive.BACK_RIGHT, halfWidth, -halfLength);
+		for (SwerveModuleSimulation module : modules)
+			module.configure(config.moduleConfig);
+	}
+
+	// Degrees per second the gyro wanders off by.
+	public void setGyroDrift(double gyroDrift) {
+		this.gyroDrift = gyroDrift;
+	}
+
+	// Puts the robot somewhere at rest, in inches and clockwise turns.
+	public void setPose(double x, double y, double angle) {
+		this.x = x * INCHES_TO_METERS;
+		this.y = y * INCHES_TO_METERS;
+		heading = angle * Math.PI * 2;
+		velocityX = 0;
+		velocityY = 0;
+		angularVelocity = 0;
+		updateGyro();
+	}
+
+	public void getPose(RobotPose output) {
+		output.x = getX();
+		output.y = getY();
+		output.angle = getAngle();
+	}
+
+	public double getX() {
+		return x / INCHES_TO_METERS;
+	}
+
+	public double getY() {
+		return y / INCHES_TO_METERS;
+	}
+
+	public double getAngle() {
+		return heading / Math.PI / 2;
+	}
+
+	// Inches per second.
+	public double getSpeed() {
+		return Math.sqrt(velocityX * velocityX + velocityY * velocityY) / INCHES_TO_METERS;
+	}
+
+	public double getTime() {
+		return time;
+	}
+
+	public SwerveModuleSimulation getModule(int module) {
+		return modules[module];
+	}
+
+	public void step(double dt) {
+		if (dt <= 0)
+			return;
+		int steps = (int) Math.ceil(dt / MAX_STEP);
+		double h = dt / steps;
+		for (int i = 0; i < steps; i++)
+			substep(h);
+		time += dt;
+		updateGyro();
+	}
+
+	private void substep(double dt) {
+		double cos = Math.cos(heading);
+		double sin = Math.sin(heading);
+		// Robot relative velocity, x to the right and y forwards.
+		double robotX = velocityX * cos - velocityY * sin;
+		double robotY = velocityX * sin + velocityY * cos;
+
+		double normalForce = physics.mass * SwervePhysics.GRAVITY / SwerveKinematics.MODULES;
+		double mass = physics.mass / SwerveKinematics.MODULES;
+
+		double forceX = 0;
+		double forceY = 0;
+		double torque = 0;
+		for (int i = 0; i < SwerveKinematics.MODULES; i++) {
+			SwerveModuleSimulation module = modules[i];
+			module.step(dt, robotX + angularVelocity * moduleY[i], robotY - angularVelocity * moduleX[i],
+						normalForce, mass);
+			forceX += module.forceX;
+			forceY += module.forceY;
+			torque += moduleY[i] * module.forceX - moduleX[i] * module.forceY;
+		}
+
+		velocityX += (forceX * cos + forceY * sin) / physics.mass * dt;
+		velocityY += (-forceX * sin + forceY * cos) / physics.mass * dt;
+		angularVelocity += torque / physics.momentOfInertia * dt;
+		if (Math.abs(velocityX) < REST_SPEED)
+			velocityX = 0;
+		if (Math.abs(velocityY) < REST_SPEED)
+			velocityY = 0;
+		if (Math.abs(angularVelocity) < REST_SPEED)
+			angularVelocity = 0;
+
+		x += velocityX * dt;
+		y += velocityY * dt;
+		heading += angularVelocity * dt;
+	}
+
+	private void setModulePosition(int module, double x, double y) {
+		moduleX[module] = x;
+		moduleY[module] = y;
+	}
+
+	private void updateGyro() {
+		// The gyro reads counter-clockwise degrees.
+		gyro.setYaw(-heading / Math.PI * 180 + gyroDrift * time);
+	}
+}
@@ -0,0 +1,142 @@
+package frc.robot.sim;
+
+import frc.robot.config.SwerveModuleConfig;
+import frc.robot.io.FakeMotorController;
+import frc.robot.swerve.SDSMk4FXModule;
+
+// One SDS Mk4 module driven by a fake steering and drive Talon. Each step runs the motors
+// through their gearing, then works out the force the wheel puts on the carpet. The
+// contact is treated as sticking, with the force needed to stop any slip capped by
+// friction, so the wheel slides once the motor asks for more than the carpet can give.
+public class SwerveModuleSimulation {
+
+	public static final double DRIVE_RATIO = SDSMk4FXModule.DRIVE_ENCODER_COUNTS / 2048;
+	public static final double STEER_RATIO = SDSMk4FXModule.STEER_MOTOR_ENCODER_COUNTS / 2048;
+
+	// The sticking force is spread over the whole robot, so only part of it is applied each
+	// step to keep the corners from fighting each other.
+	public static final double CONTACT_RELAXATION = 0.5;
+
+	private final FakeMotorController steerMotor;
+	private final FakeMotorController driveMotor;
+	private final TalonSimulation steer;
+	private final TalonSimulation drive;
+	private final SwervePhysics physics;
+
+	// Radians clockwise from forward, and the wheel's rotation in radians.
+	private double angle = 0;
+	private double steerRate = 0;
+	private double wheelAngle = 0;
+	private double wheelSpeed = 0;
+
+	private boolean slipping = false;
+
+	// Force on the robot from the last step in newtons, robot relative.
+	public double forceX;
+	public double forceY;
+
+	public SwerveModuleSimulation(FakeMotorController steerMotor, FakeMotorController driveMotor,
+									SwervePhysics physics, SwerveModuleConfig config) {
+		if (steerMotor == null)
+			throw new IllegalArgumentException("steerMotor is null");
+		if (driveMotor == null)
+			throw new IllegalArgumentException("driveMotor is null");
+		if (physics == null)
+			throw new IllegalArgumentException("physics is null");
+		this.steerMotor = steerMotor;
+		this.driveMotor = driveMotor;
+		this.physics = physics;
+		steer = new TalonSimulation(steerMotor, physics.steerMotor);
+		drive = new TalonSimulation(driveMotor, physics.driveMotor);
+
+		configure(config);
+		updateSensors();
+	}
+
+	public void configure(SwerveModuleConfig config) {
+		steer.configure(config.pid, config.steerBrake,
+						config.steerCurrentLimitEnabled ? config.steerCurrentLimit : 0);
+		drive.configure(null, true, config.driveCurrentLimitEnabled ? config.driveCurrentLimit : 0);
+	}
+
+	// Turns clockwise from forward. Only meant for setting up, the wheel jumps there.
+	public void setAngle(double angle) {
+		this.angle = angle * Math.PI * 2;
+		steerRate = 0;
+		updateSensors();
+	}
+
+	public double getAngle() {
+		return angle / Math.PI / 2;
+	}
+
+	// Speed of the wheel's surface in m/s.
+	public double getWheelSpeed() {
+		return wheelSpeed * physics.wheelRadius;
+	}
+
+	public boolean isSlipping() {
+		return slipping;
+	}
+
+	// The ground velocity is that of the contact patch in m/s, robot relative, and the
+	// normal force is the weight on this wheel in newtons.
+	public void step(double dt, double groundX, double groundY, double normalForce, double mass) {
+		{
+			double torque = steer.step(dt, steerRate * STEER_RATIO) * STEER_RATIO;
+			steerRate += (torque - steerRate * physics.steerDamping) / physics.steerInertia * dt;
+			if (Math.abs(steerRate) < SwerveDriveSimulation.REST_SPEED)
+				steerRate = 0;
+			angle += steerRate * dt;
+		}
+
+		double sin = Math.sin(angle);
+		double cos = Math.cos(angle);
+		double longitudinal = groundX * sin + groundY * cos;
+		double lateral = groundX * cos - groundY * sin;
+
+		double radius = physics.wheelRadius;
+		double torque = drive.step(dt, wheelSpeed * DRIVE_RATIO) * DRIVE_RATIO;
+		double freeSpeed = wheelSpeed + torque / physics.wheelInertia * dt;
+
+		// Force needed this step to make the wheel roll without slipping and to stop the
+		// patch sliding sideways.
+		double slip = freeSpeed * radius - longitudinal;
+		double longitudinalForce = CONTACT_RELAXATION * slip /
+									(dt * (radius * radius / physics.wheelInertia + 1 / mass));
+		double lateralForce = -CONTACT_RELAXATION * lateral * mass / dt;
+
+		double maxForce = physics.frictionCoefficient * normalForce;
+		double force = Math.sqrt(longitudinalForce * longitudinalForce + lateralForce * lateralForce);
+		slipping = force > maxForce;
+		if (slipping) {
+			longitudinalForce *= maxForce / force;
+			lateralForce *= maxForce / force;
+		}
+
+		wheelSpeed = freeSpeed - longitudinalForce * radius / physics.wheelInertia * dt;
+		{
+			double rolling = physics.rollingResistance * normalForce * radius / physics.wheelInertia * dt;
+			if (Math.abs(wheelSpeed) <= rolling)
+				wheelSpeed = 0;
+			else
+				wheelSpeed -= Math.copySign(rolling, wheelSpeed);
+		}
+		wheelAngle += wheelSpeed * dt;
+
+		forceX = longitudinalForce * sin + lateralForce * cos;
+		forceY = longitudinalForce * cos - lateralForce * sin;
+
+		updateSensors();
+	}
+
+	private void updateSensors() {
+		double turns = angle / Math.PI / 2;
+		steerMotor.getEncoder().setPosition(turns * SDSMk4FXModule.STEER_MOTOR_ENCODER_COUNTS);
+		steerMotor.getEncoder().setVelocity(steerRate / Math.PI / 2 * SDSMk4FXModule.STEER_MOTOR_ENCODER_COUNTS / 10);
+		steerMotor.getAuxiliaryEncoder().setPosition((turns % 1 + 1) % 1 * SDSMk4FXModule.STEER_CENTRAL_ENCODER_COUNTS);
+
+		driveMotor.getEncoder().setPosition(wheelAngle / Math.PI / 2 * SDSMk4FXModule.DRIVE_ENCODER_COUNTS);
+		driveMotor.getEncoder().setVelocity(wheelSpeed / Math.PI / 2 * SDSMk4FXModule.DRIVE_ENCODER_COUNTS / 10);
+	}
+}
@@ -0,0 +1,23 @@
+package frc.robot.sim;
+
+// Physical constants for the swerve simulation, in SI units. The defaults are a roughly
+// 120 lb robot on SDS Mk4 modules with 4 inch wheels on carpet.
+public class SwervePhysics {
+
+	public static final double GRAVITY = 9.81;
+
+	public double mass = 54;
+	public double momentOfInertia = 5;
+
+	public double wheelRadius = 0.0508;
+	// Wheel, gears and motor rotor, as seen from the wheel.
+	public double wheelInertia = 0.002;
+	public double frictionCoefficient = 1.1;
+	public double rollingResistance = 0.02;
+
+	public double steerInertia = 0.004;
+	public double steerDamping = 0.02;
+
+	public DCMotor driveMotor = DCMotor.FALCON_500;
+	public DCMotor steerMotor = DCMotor.FALCON_500;
+}
@@ -0,0 +1,109 @@
+package frc.robot.sim;
+
+import com.ctre.phoenix.motorcontrol.can.SlotConfiguration;
+
+import frc.robot.io.FakeMotorController;
+import frc.robot.io.FakeMotorController.Mode;
+
+// Stands in for the Talon firmware behind a fake motor controller. It runs the closed
+// loops the way the Talon does, in output units of 1/1023 and sensor units, and turns the
+// output into motor torque including the supply current limit. The Talon runs its loops
+// every millisecond, so steps should be no longer than that.
+public class TalonSimulation {
+
+	public static final double LOOP_PERIOD = 0.001;
+	public static final double VOLTAGE = 12;
+
+	private final FakeMotorController motor;
+	private final DCMotor model;
+
+	private SlotConfiguration pid;
+	private boolean brake;
+	private double supplyCurrentLimit;
+
+	private Mode lastMode = Mode.NEUTRAL;
+	private double iacc = 0;
+	private double lastError = 0;
+
+	private double output = 0;
+	private double current = 0;
+
+	public TalonSimulation(FakeMotorController motor, DCMotor model) {
+		if (motor == null)
+			throw new IllegalArgumentException("motor is null");
+		if (model == null)
+			throw new IllegalArgumentException("model is null");
+		this.motor = motor;
+		this.model = model;
+	}
+
+	// The gains may be null for a motor that is only run open loop. A supply current limit of
+	// zero means no limit.
+	public void configure(SlotConfiguration pid, boolean brake, double supplyCurrentLimit) {
+		this.pid = pid;
+		this.brake = brake;
+		this.supplyCurrentLimit = supplyCurrentLimit;
+		iacc = 0;
+		lastError = 0;
+	}
+
+	// Speed of the motor shaft in rad/s. Returns the torque on the shaft in N m.
+	public double step(double dt, double speed) {
+		Mode mode = motor.getMode();
+		double value = motor.getValue();
+		if (mode != lastMode) {
+			iacc = 0;
+			lastError = 0;
+			lastMode = mode;
+		}
+
+		switch (mode) {
+			case PERCENT_OUTPUT:
+				output = value;
+				break;
+			case POSITION:
+				output = closedLoop(dt, value - motor.getEncoder().getPosition(), 0);
+				break;
+			case VELOCITY:
+				output = closedLoop(dt, value - motor.getEncoder().getVelocity(), value);
+				break;
+			default:
+				output = 0;
+				if (!brake) {
+					current = 0;
+					return 0;
+				}
+		}
+		output = Math.max(-1, Math.min(output, 1));
+
+		current = model.getCurrent(output * VOLTAGE, speed);
+		if (supplyCurrentLimit > 0 && Math.abs(current * output) > supplyCurrentLimit)
+			current = Math.copySign(supplyCurrentLimit / Math.abs(output), current);
+		return model.getTorque(current);
+	}
+
+	public double getOutput() {
+		return output;
+	}
+
+	public double getCurrent() {
+		return current;
+	}
+
+	private double closedLoop(double dt, double error, double target) {
+		if (pid == null)
+			return 0;
+		// The firmware accumulates and differentiates once per loop, scaled here so the
+		// result doesn't depend on the step length.
+		double loops = dt / LOOP_PERIOD;
+		if (pid.integralZone == 0 || Math.abs(error) < pid.integralZone)
+			iacc += error * loops;
+		else
+			iacc = 0;
+		if (pid.maxIntegralAccumulator != 0 && Math.abs(iacc) > pid.maxIntegralAccumulator)
+			iacc = Math.copySign(pid.maxIntegralAccumulator, iacc);
+		double derivative = (error - lastError) / loops;
+		lastError = error;
+		return (pid.kF * target + pid.kP * error + pid.kI * iacc + pid.kD * derivative) / 1023;
+	}
+}
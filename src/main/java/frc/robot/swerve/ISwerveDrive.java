@@ -20,4 +20,6 @@ public interface ISwerveDrive extends Subsystem {
 	public double getTargetRotate();
 
 	public SwerveMode getMode();
+
+	public PoseHistory getHistory();
 }
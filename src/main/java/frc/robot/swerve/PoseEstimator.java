@@ -0,0 +1,99 @@
+package frc.robot.swerve;
+
+import frc.robot.Subsystem;
+import frc.robot.config.PoseEstimatorConfig;
+import frc.robot.shooter.ShooterVision;
+
+// Pulls the odometry pose towards the position the Limelight sees the hub from. A frame
+// describes where the robot was when it was captured, so the correction is computed
+// against the drive's pose history at that moment. Heading comes from the gyro and is
+// never corrected, which means replaying the odometry after that moment is only a
+// translation of every later sample and the current pose.
+public class PoseEstimator implements Subsystem {
+
+	private final RobotPose pose;
+	private final PoseHistory history;
+	private final ShooterVision vision;
+	private final RobotPose past = new RobotPose();
+
+	private double visionGain;
+	private double maxCorrection;
+	private double minDistance;
+	private double maxDistance;
+	private double distanceOffset;
+
+	private int accepted = 0;
+	private int rejected = 0;
+
+	public PoseEstimator(RobotPose pose, PoseHistory history, ShooterVision vision,
+							PoseEstimatorConfig config) {
+		if (pose == null)
+			throw new IllegalArgumentException("pose is null");
+		if (history == null)
+			throw new IllegalArgumentException("history is null");
+		if (vision == null)
+			throw new IllegalArgumentException("vision is null");
+		this.pose = pose;
+		this.history = history;
+		this.vision = vision;
+
+		configure(config);
+	}
+
+	// Must be called whenever the pose is moved by something other than odometry.
+	public void reset() {
+		history.clear();
+	}
+
+	public int getAccepted() {
+		return accepted;
+	}
+
+	public int getRejected() {
+		return rejected;
+	}
+
+	@Override
+	public void tick() {
+		// The raw measurement, since the filtered target has already been moved on past the
+		// capture time.
+		if (visionGain > 0 && vision.hasMeasurement()) {
+			double captureTime = history.getNewestTime() - vision.getLatency();
+			if (correct(captureTime, vision.getMeasuredDistance(), vision.getMeasurement()[0]))
+				accepted++;
+			else
+				rejected++;
+		}
+	}
+
+	private boolean correct(double captureTime, double distance, double targetX) {
+		if (distance < minDistance || distance > maxDistance)
+			return false;
+		if (!history.get(captureTime, past))
+			return false;
+
+		// The hub is at the origin, so the robot sits the measured distance back along the
+		// bearing to the target.
+		double bearing = (past.angle + targetX * ShooterVision.LIMELIGHT_FOV) * Math.PI * 2;
+		double hubDistance = distance * 12 + distanceOffset;
+		double errorX = -Math.sin(bearing) * hubDistance - past.x;
+		double errorY = -Math.cos(bearing) * hubDistance - past.y;
+		if (Math.sqrt(errorX * errorX + errorY * errorY) > maxCorrection)
+			return false;
+
+		double correctionX = errorX * visionGain;
+		double correctionY = errorY * visionGain;
+		history.translate(captureTime, correctionX, correctionY);
+		pose.x += correctionX;
+		pose.y += correctionY;
+		return true;
+	}
+
+	public void configure(PoseEstimatorConfig config) {
+		visionGain = config.visionGain;
+		maxCorrection = config.maxCorrection;
+		minDistance = config.minDistance;
+		maxDistance = config.maxDistance;
+		distanceOffset = config.distanceOffset;
+	}
+}
@@ -0,0 +1,148 @@
+package frc.robot.swerve;
+
+// Fixed capacity history of poses, oldest overwritten first. Each field is its own
+// primitive array so adding and looking up never allocate, and samples are kept in time
+// order so a lookup is a binary search.
+public class PoseHistory {
+
+	private final int capacity;
+
+	private final double[] time;
+	private final double[] x;
+	private final double[] y;
+	private final double[] angle;
+	private final double[] linearAngle;
+	private final double[] linearSpeed;
+	private final double[] rotate;
+
+	// Physical index of the newest sample.
+	private int head = -1;
+	private int count = 0;
+
+	public PoseHistory(int capacity) {
+		if (capacity < 2)
+			throw new IllegalArgumentException("capacity is less than 2");
+		this.capacity = capacity;
+
+		time = new double[capacity];
+		x = new double[capacity];
+		y = new double[capacity];
+		angle = new double[capacity];
+		linearAngle = new double[capacity];
+		linearSpeed = new double[capacity];
+		rotate = new double[capacity];
+	}
+
+	public int capacity() {
+		return capacity;
+	}
+
+	public int size() {
+		return count;
+	}
+
+	public void clear() {
+		head = -1;
+		count = 0;
+	}
+
+	public double getOldestTime() {
+		return count == 0 ? Double.NaN : time[index(0)];
+	}
+
+	public double getNewestTime() {
+		return count == 0 ? Double.NaN : time[head];
+	}
+
+	// Time is in seconds and must not go backwards. If it does the history is no longer
+	// meaningful so it starts over.
+	public void add(double currentTime, RobotPose pose) {
+		if (count > 0 && currentTime < time[head])
+			clear();
+
+		head = (head + 1) % capacity;
+		time[head] = currentTime;
+		x[head] = pose.x;
+		y[head] = pose.y;
+		angle[head] = pose.angle;
+		linearAngle[head] = pose.linearAngle;
+		linearSpeed[head] = pose.linearSpeed;
+		rotate[head] = pose.rotate;
+		if (count < capacity)
+			count++;
+	}
+
+	// Fills output with the pose at the given time, interpolating position and heading
+	// between the samples around it. Velocities are taken from the later sample since they
+	// describe the tick that ended there. Returns false if the time is outside the history.
+	public boolean get(double targetTime, RobotPose output) {
+		int after = search(targetTime);
+		if (after < 0)
+			return false;
+
+		int newer = index(after);
+		if (after == 0) {
+			copy(newer, output);
+			return true;
+		}
+		int older = index(after - 1);
+		double t = (targetTime - time[older]) / (time[newer] - time[older]);
+		output.x = x[older] + (x[newer] - x[older]) * t;
+		output.y = y[older] + (y[newer] - y[older]) * t;
+		output.angle = angle[older] + (angle[newer] - angle[older]) * t;
+		output.linearAngle = linearAngle[newer];
+		output.linearSpeed = linearSpeed[newer];
+		output.rotate = rotate[newer];
+		return true;
+	}
+
+	// Shifts every sample after the given time, for corrections that move the pose from
+	// some point in the past onwards.
+	public void translate(double fromTime, double deltaX, double deltaY) {
+		int first = search(fromTime);
+		if (first < 0) {
+			if (count == 0 || fromTime > time[head])
+				return;
+			first = 0;
+		} else if (time[index(first)] == fromTime) {
+			first++;
+		}
+		for (int i = first; i < count; i++) {
+			int index = index(i);
+			x[index] += deltaX;
+			y[index] += deltaY;
+		}
+	}
+
+	// Logical position of the first sample at or after the target time, or -1 if the time
+	// is outside the history.
+	private int search(double targetTime) {
+		if (count == 0 || targetTime < time[index(0)] || targetTime > time[head])
+			return -1;
+
+		int low = 0;
+		int high = count - 1;
+		while (low < high) {
+			int middle = (low + high) >>> 1;
+			if (time[index(middle)] < targetTime)
+				low = middle + 1;
+			else
+				high = middle;
+		}
+		return low;
+	}
+
+	private int index(int logical) {
+		int index = head - count + 1 + logical;
+		return index < 0 ? index + capacity : index;
+	}
+
+	private void copy(int index, RobotPose output) {
+		output.x = x[index];
+		output.y = y[index];
+		output.angle = angle[index];
+		output.linearAngle = linearAngle[index];
+		output.linearSpeed = linearSpeed[index];
+		output.rotate = rotate[index];
+	}
+}
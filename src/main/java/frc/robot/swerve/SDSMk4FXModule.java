@@ -1,6 +1,5 @@
 package frc.robot.swerve;
 
-import com.ctre.phoenix.motorcontrol.ControlMode;
 import com.ctre.phoenix.motorcontrol.FeedbackDevice;
 import com.ctre.phoenix.motorcontrol.NeutralMode;
 import com.ctre.phoenix.motorcontrol.RemoteSensorSource;
@@ -11,7 +10,9 @@ import com.ctre.phoenix.motorcontrol.can.TalonFX;
 import com.ctre.phoenix.motorcontrol.can.TalonFXConfiguration;
 import com.ctre.phoenix.sensors.SensorVelocityMeasPeriod;
 
+import frc.robot.LoopClock;
 import frc.robot.config.SwerveModuleConfig;
+import frc.robot.io.IMotorController;
 
 public class SDSMk4FXModule implements ISwerveModule {
 
@@ -21,13 +22,14 @@ public class SDSMk4FXModule implements ISwerveModule {
 
 	public static final int RELATIVE_INIT_DELAY = 1000;
 
-	private final TalonFX steer;
-	private final TalonFX drive;
+	private final IMotorController steer;
+	private final IMotorController drive;
 	private final int encoderChannel;
+	private final LoopClock clock;
 	private double angleOffset;
 	private double reverseThreshold;
 
-	private long initTime;
+	private double initTime;
 	private boolean initialized = false;
 
 	private double targetAngle = 0;
@@ -37,12 +39,21 @@ public class SDSMk4FXModule implements ISwerveModule {
 	private double currentSpeed = 0;
 	private boolean reversed = false;
 
-	public SDSMk4FXModule(int steerChannel, int driveChannel, int encoderChannel,
-							double angleOffset, SwerveModuleConfig config) {
-		steer = new TalonFX(steerChannel);
-		drive = new TalonFX(driveChannel);
+	// The encoder channel is the Talon SRX the absolute encoder is plugged into, which the
+	// steering motor reads as its auxiliary sensor.
+	public SDSMk4FXModule(IMotorController steer, IMotorController drive, int encoderChannel,
+							double angleOffset, LoopClock clock, SwerveModuleConfig config) {
+		if (steer == null)
+			throw new IllegalArgumentException("steer is null");
+		if (drive == null)
+			throw new IllegalArgumentException("drive is null");
+		if (clock == null)
+			throw new IllegalArgumentException("clock is null");
+		this.steer = steer;
+		this.drive = drive;
 		this.encoderChannel = encoderChannel;
 		this.angleOffset = angleOffset;
+		this.clock = clock;
 
 		configure(config);
 	}
@@ -56,15 +67,15 @@ public class SDSMk4FXModule implements ISwerveModule {
 	// Written by Michael Kaatz (2022)
 	@Override
 	public void tick() {
-		if (!initialized && System.currentTimeMillis() > initTime + RELATIVE_INIT_DELAY) {
-			steer.setSelectedSensorPosition(steer.getSelectedSensorPosition(1) *
+		if (!initialized && (clock.getTime() - initTime) * 1000 > RELATIVE_INIT_DELAY) {
+			steer.getEncoder().setPosition(steer.getAuxiliaryEncoder().getPosition() *
 											STEER_MOTOR_ENCODER_COUNTS / STEER_CENTRAL_ENCODER_COUNTS);
 			initialized = true;
 		}
 		if (initialized) {
-			realCurrentAngle = steer.getSelectedSensorPosition() / STEER_MOTOR_ENCODER_COUNTS;
+			realCurrentAngle = steer.getEncoder().getPosition() / STEER_MOTOR_ENCODER_COUNTS;
 			effectiveCurrentAngle = ((realCurrentAngle - angleOffset) % 1 + (reversed ? 0.5 : 0) + 1) % 1;
-			currentSpeed = drive.getSelectedSensorVelocity() / DRIVE_ENCODER_COUNTS * 10 * (reversed ? -1 : 1);
+			currentSpeed = drive.getEncoder().getVelocity() / DRIVE_ENCODER_COUNTS * 10 * (reversed ? -1 : 1);
 
 			// We don't want to move the wheels if we don't have to.
 			if (targetSpeed != 0) {
@@ -86,8 +97,8 @@ public class SDSMk4FXModule implements ISwerveModule {
 					targetError = -Math.signum(targetError) * (0.5 - Math.abs(targetError));
 				}
 
-				steer.set(ControlMode.Position, (realCurrentAngle + targetError) * STEER_MOTOR_ENCODER_COUNTS);
-				drive.set(ControlMode.PercentOutput, targetSpeed * (reversed ? -1 : 1));
+				steer.setPositionTarget((realCurrentAngle + targetError) * STEER_MOTOR_ENCODER_COUNTS);
+				drive.setPercentOutput(targetSpeed * (reversed ? -1 : 1));
 			} else {
 				steer.neutralOutput();
 				drive.neutralOutput();
@@ -110,20 +121,22 @@ public class SDSMk4FXModule implements ISwerveModule {
 		steerConfig.supplyCurrLimit.enable = config.steerCurrentLimitEnabled;
 		steerConfig.supplyCurrLimit.currentLimit = config.steerCurrentLimit;
 		steerConfig.supplyCurrLimit.triggerThresholdTime = config.steerCurrentLimitTime;
-		steer.configAllSettings(steerConfig);
-		steer.selectProfileSlot(0, 0);
-		steer.setInverted(true);
-		steer.setNeutralMode(config.steerBrake ? NeutralMode.Brake : NeutralMode.Coast);
-		steer.setStatusFramePeriod(StatusFrameEnhanced.Status_1_General, 255);
-		steer.setStatusFramePeriod(StatusFrameEnhanced.Status_2_Feedback0, 10);
-		steer.setStatusFramePeriod(StatusFrameEnhanced.Status_3_Quadrature, 255);
-		steer.setStatusFramePeriod(StatusFrameEnhanced.Status_4_AinTempVbat, 255);
-		steer.setStatusFramePeriod(StatusFrameEnhanced.Status_8_PulseWidth, 255);
-		steer.setStatusFramePeriod(StatusFrameEnhanced.Status_10_Targets, 255);
-		steer.setStatusFramePeriod(StatusFrameEnhanced.Status_12_Feedback1, 255);
-		steer.setStatusFramePeriod(StatusFrameEnhanced.Status_13_Base_PIDF0, 255);
-		steer.setStatusFramePeriod(StatusFrameEnhanced.Status_14_Turn_PIDF1, 255);
-		steer.setStatusFramePeriod(StatusFrameEnhanced.Status_Brushless_Current, 255);
+		steer.configure(TalonFX.class, talon -> {
+			talon.configAllSettings(steerConfig);
+			talon.selectProfileSlot(0, 0);
+			talon.setInverted(true);
+			talon.setNeutralMode(config.steerBrake ? NeutralMode.Brake : NeutralMode.Coast);
+			talon.setStatusFramePeriod(StatusFrameEnhanced.Status_1_General, 255);
+			talon.setStatusFramePeriod(StatusFrameEnhanced.Status_2_Feedback0, 10);
+			talon.setStatusFramePeriod(StatusFrameEnhanced.Status_3_Quadrature, 255);
+			talon.setStatusFramePeriod(StatusFrameEnhanced.Status_4_AinTempVbat, 255);
+			talon.setStatusFramePeriod(StatusFrameEnhanced.Status_8_PulseWidth, 255);
+			talon.setStatusFramePeriod(StatusFrameEnhanced.Status_10_Targets, 255);
+			talon.setStatusFramePeriod(StatusFrameEnhanced.Status_12_Feedback1, 255);
+			talon.setStatusFramePeriod(StatusFrameEnhanced.Status_13_Base_PIDF0, 255);
+			talon.setStatusFramePeriod(StatusFrameEnhanced.Status_14_Turn_PIDF1, 255);
+			talon.setStatusFramePeriod(StatusFrameEnhanced.Status_Brushless_Current, 255);
+		});
 
 		TalonFXConfiguration driveConfig = new TalonFXConfiguration();
 		driveConfig.neutralDeadband = 0.001;
@@ -136,26 +149,28 @@ public class SDSMk4FXModule implements ISwerveModule {
 		driveConfig.supplyCurrLimit.enable = config.driveCurrentLimitEnabled;
 		driveConfig.supplyCurrLimit.currentLimit = config.driveCurrentLimit;
 		driveConfig.supplyCurrLimit.triggerThresholdTime = config.driveCurrentLimitTime;
-		drive.configAllSettings(driveConfig);
-		drive.setInverted(true);
-		drive.setNeutralMode(NeutralMode.Brake);
-		drive.enableVoltageCompensation(true);
-		drive.setStatusFramePeriod(StatusFrameEnhanced.Status_1_General, 255);
-		drive.setStatusFramePeriod(StatusFrameEnhanced.Status_2_Feedback0, 10);
-		drive.setStatusFramePeriod(StatusFrameEnhanced.Status_3_Quadrature, 255);
-		drive.setStatusFramePeriod(StatusFrameEnhanced.Status_4_AinTempVbat, 255);
-		drive.setStatusFramePeriod(StatusFrameEnhanced.Status_8_PulseWidth, 255);
-		drive.setStatusFramePeriod(StatusFrameEnhanced.Status_10_Targets, 255);
-		drive.setStatusFramePeriod(StatusFrameEnhanced.Status_12_Feedback1, 255);
-		drive.setStatusFramePeriod(StatusFrameEnhanced.Status_13_Base_PIDF0, 255);
-		drive.setStatusFramePeriod(StatusFrameEnhanced.Status_14_Turn_PIDF1, 255);
-		drive.setStatusFramePeriod(StatusFrameEnhanced.Status_Brushless_Current, 255);
+		drive.configure(TalonFX.class, talon -> {
+			talon.configAllSettings(driveConfig);
+			talon.setInverted(true);
+			talon.setNeutralMode(NeutralMode.Brake);
+			talon.enableVoltageCompensation(true);
+			talon.setStatusFramePeriod(StatusFrameEnhanced.Status_1_General, 255);
+			talon.setStatusFramePeriod(StatusFrameEnhanced.Status_2_Feedback0, 10);
+			talon.setStatusFramePeriod(StatusFrameEnhanced.Status_3_Quadrature, 255);
+			talon.setStatusFramePeriod(StatusFrameEnhanced.Status_4_AinTempVbat, 255);
+			talon.setStatusFramePeriod(StatusFrameEnhanced.Status_8_PulseWidth, 255);
+			talon.setStatusFramePeriod(StatusFrameEnhanced.Status_10_Targets, 255);
+			talon.setStatusFramePeriod(StatusFrameEnhanced.Status_12_Feedback1, 255);
+			talon.setStatusFramePeriod(StatusFrameEnhanced.Status_13_Base_PIDF0, 255);
+			talon.setStatusFramePeriod(StatusFrameEnhanced.Status_14_Turn_PIDF1, 255);
+			talon.setStatusFramePeriod(StatusFrameEnhanced.Status_Brushless_Current, 255);
+		});
 
 		reverseThreshold = config.reverseThreshold;
 
 		reversed = false;
 		initialized = false;
-		initTime = System.currentTimeMillis();
+		initTime = clock.getTime();
 	}
 
 	@Override
@@ -0,0 +1,77 @@
+package frc.robot.swerve;
+
+// Solves all four module velocities at once. Each module's turn vector only depends on
+// where the module sits on the robot so it is computed when the drive is configured,
+// and the linear angle trig is shared by every module.
+public class SwerveKinematics {
+
+	public static final int MODULES = 4;
+
+	private final double[] turnCos = new double[MODULES];
+	private final double[] turnSin = new double[MODULES];
+
+	private double lastLinearAngle = Double.NaN;
+	private double linearCos;
+	private double linearSin;
+
+	// Outputs of the last solve, indexed by module.
+	public final double[] angle = new double[MODULES];
+	public final double[] speed = new double[MODULES];
+	public final double[] maxLinearSpeed = new double[MODULES];
+	public final double[] maxRotate = new double[MODULES];
+
+	// Saturation limits across all modules from the last solve.
+	public double maxSpeed;
+	public double minMaxLinearSpeed;
+	public double limitingRotate;
+
+	// Written by Michael Kaatz (2022)
+	public void setModulePosition(int module, double x, double y) {
+		// What we consider 0 degrees is actually 90 so the arctan args are actually
+		// reversed.
+		double turnAngle = Math.atan2(x, y) / Math.PI / 2 + 0.25;
+		turnCos[module] = Math.cos(turnAngle * Math.PI * 2);
+		turnSin[module] = Math.sin(turnAngle * Math.PI * 2);
+	}
+
+	// Written by Michael Kaatz (2022)
+	public void solve(double linearAngle, double linearSpeed, double rotate) {
+		if (linearAngle != lastLinearAngle) {
+			linearCos = Math.cos(linearAngle * Math.PI * 2);
+			linearSin = Math.sin(linearAngle * Math.PI * 2);
+			lastLinearAngle = linearAngle;
+		}
+
+		double s2 = linearSpeed * linearSpeed;
+		double t2 = rotate * rotate;
+
+		maxSpeed = 0;
+		minMaxLinearSpeed = Double.POSITIVE_INFINITY;
+		limitingRotate = Double.POSITIVE_INFINITY;
+
+		for (int i = 0; i < MODULES; i++) {
+			double x1 = turnCos[i] * rotate + linearCos * linearSpeed;
+			double y1 = turnSin[i] * rotate + linearSin * linearSpeed;
+			double targetAngle = Math.atan2(y1, x1) / Math.PI / 2;
+			angle[i] = (targetAngle % 1 + 1) % 1;
+			speed[i] = Math.sqrt(x1 * x1 + y1 * y1);
+
+			double dot = linearSin * turnSin[i] + linearCos * turnCos[i];
+			{
+				double b = 2 * rotate * dot;
+				maxLinearSpeed[i] = (-b + Math.sqrt(b * b - 4 * (t2 - 1))) / 2;
+			}
+			{
+				double b = 2 * linearSpeed * dot;
+				maxRotate[i] = (-b + Math.sqrt(b * b - 4 * (s2 - 1))) / 2;
+			}
+
+			if (speed[i] > maxSpeed)
+				maxSpeed = speed[i];
+			if (maxLinearSpeed[i] < minMaxLinearSpeed)
+				minMaxLinearSpeed = maxLinearSpeed[i];
+			if (Math.abs(maxRotate[i]) < limitingRotate)
+				limitingRotate = maxRotate[i];
+		}
+	}
+}
@@ -0,0 +1,123 @@
+package frc.robot.swerve;
+
+// Estimates the robot's motion from its module velocities. Every module sees the same
+// rigid body twist (vx, vy, rotate), so the four measured wheel vectors give eight
+// equations in three unknowns which are solved in the least squares sense. The normal
+// matrix only depends on where the modules are so its inverse is computed up front.
+//
+// Robot frame: x to the right, y forward, angles in turns clockwise from forward and
+// rotation clockwise positive, matching the rest of the drive.
+public class SwerveOdometry {
+
+	public static final int MODULES = 4;
+
+	private final double[] moduleX = new double[MODULES];
+	private final double[] moduleY = new double[MODULES];
+	private final double[] velocityX = new double[MODULES];
+	private final double[] velocityY = new double[MODULES];
+
+	private final double[] inverse = new double[9];
+	private boolean dirty = true;
+
+	// Twist from the last solve in distance units per second and radians per second.
+	public double vx;
+	public double vy;
+	public double rotate;
+
+	// Robot relative displacement from the last integrate.
+	public double dx;
+	public double dy;
+
+	public void setModulePosition(int module, double x, double y) {
+		moduleX[module] = x;
+		moduleY[module] = y;
+		dirty = true;
+	}
+
+	// Speed in distance units per second.
+	public void setModuleVelocity(int module, double angle, double speed) {
+		velocityX[module] = Math.sin(angle * Math.PI * 2) * speed;
+		velocityY[module] = Math.cos(angle * Math.PI * 2) * speed;
+	}
+
+	public void solve() {
+		if (dirty)
+			computeInverse();
+
+		// A module at (x, y) moves at (vx + rotate * y, vy - rotate * x).
+		double sumX = 0;
+		double sumY = 0;
+		double sumMoment = 0;
+		for (int i = 0; i < MODULES; i++) {
+			sumX += velocityX[i];
+			sumY += velocityY[i];
+			sumMoment += moduleY[i] * velocityX[i] - moduleX[i] * velocityY[i];
+		}
+
+		vx = inverse[0] * sumX + inverse[1] * sumY + inverse[2] * sumMoment;
+		vy = inverse[3] * sumX + inverse[4] * sumY + inverse[5] * sumMoment;
+		rotate = inverse[6] * sumX + inverse[7] * sumY + inverse[8] * sumMoment;
+	}
+
+	// Integrates the last twist over the time delta along the arc it describes. The
+	// heading change comes from the caller so the arc agrees with the gyro.
+	public void integrate(double timeDeltaSeconds, double angleDelta) {
+		double linearX = vx * timeDeltaSeconds;
+		double linearY = vy * timeDeltaSeconds;
+		double theta = angleDelta * Math.PI * 2;
+
+		double s;
+		double c;
+		if (Math.abs(theta) < 1e-6) {
+			// Taylor expansion, sin(t) / t and (1 - cos(t)) / t near zero.
+			s = 1 - theta * theta / 6;
+			c = theta / 2;
+		} else {
+			s = Math.sin(theta) / theta;
+			c = (1 - Math.cos(theta)) / theta;
+		}
+
+		dx = s * linearX + c * linearY;
+		dy = -c * linearX + s * linearY;
+	}
+
+	private void computeInverse() {
+		double sumX = 0;
+		double sumY = 0;
+		double sumSquares = 0;
+		for (int i = 0; i < MODULES; i++) {
+			sumX += moduleX[i];
+			sumY += moduleY[i];
+			sumSquares += moduleX[i] * moduleX[i] + moduleY[i] * moduleY[i];
+		}
+
+		// Normal matrix of the system above, which is symmetric.
+		double m00 = MODULES;
+		double m01 = 0;
+		double m02 = sumY;
+		double m11 = MODULES;
+		double m12 = -sumX;
+		double m22 = sumSquares;
+
+		double c00 = m11 * m22 - m12 * m12;
+		double c01 = m02 * m12 - m01 * m22;
+		double c02 = m01 * m12 - m02 * m11;
+		double c11 = m00 * m22 - m02 * m02;
+		double c12 = m01 * m02 - m00 * m12;
+		double c22 = m00 * m11 - m01 * m01;
+		double determinant = m00 * c00 + m01 * c01 + m02 * c02;
+		if (determinant == 0)
+			throw new IllegalStateException("module positions are degenerate");
+
+		inverse[0] = c00 / determinant;
+		inverse[1] = c01 / determinant;
+		inverse[2] = c02 / determinant;
+		inverse[3] = c01 / determinant;
+		inverse[4] = c11 / determinant;
+		inverse[5] = c12 / determinant;
+		inverse[6] = c02 / determinant;
+		inverse[7] = c12 / determinant;
+		inverse[8] = c22 / determinant;
+		dirty = false;
+	}
+}
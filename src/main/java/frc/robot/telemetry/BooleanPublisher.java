@@ -0,0 +1,6 @@
+package frc.robot.telemetry;
+
+public interface BooleanPublisher {
+
+	public void set(boolean value);
+}
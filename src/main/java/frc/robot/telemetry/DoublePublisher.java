@@ -0,0 +1,6 @@
+package frc.robot.telemetry;
+
+public interface DoublePublisher {
+
+	public void set(double value);
+}
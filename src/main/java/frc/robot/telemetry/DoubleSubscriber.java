@@ -0,0 +1,7 @@
+package frc.robot.telemetry;
+
+public interface DoubleSubscriber {
+
+	// The default is fixed when the subscriber is created.
+	public double get();
+}
@@ -0,0 +1,12 @@
+package frc.robot.telemetry;
+
+// Entries are resolved by name once, when a publisher or subscriber is created, so the
+// loop only ever touches the returned handles.
+public interface ITelemetryTable {
+
+	public ITelemetryTable getSubTable(String name);
+
+	public DoublePublisher getDoublePublisher(String name);
+	public BooleanPublisher getBooleanPublisher(String name);
+	public DoubleSubscriber getDoubleSubscriber(String name, double defaultValue);
+}
@@ -0,0 +1,146 @@
+package frc.robot.telemetry;
+
+import java.util.Arrays;
+
+// Times named sections of the robot loop and publishes min, mean, p99 and max for each.
+// Samples go into log scale histograms, eight buckets per power of two microseconds, so
+// recording is a couple of array writes and percentiles are good to within 12.5%. Two
+// generations of histogram are kept so the published numbers cover the last one to two
+// publish intervals. All storage is allocated when sections are added.
+public class LoopProfiler {
+
+	public static final int MAX_SECTIONS = 16;
+	public static final int SUB_BUCKETS = 8;
+	public static final int BUCKETS = 26 * SUB_BUCKETS;
+
+	private final ITelemetryTable table;
+	private final int publishInterval;
+
+	private final long[] startTimes = new long[MAX_SECTIONS];
+	private final long[][][] histograms = new long[MAX_SECTIONS][2][];
+	private final long[][] counts = new long[MAX_SECTIONS][2];
+	private final long[][] sums = new long[MAX_SECTIONS][2];
+	private final long[][] mins = new long[MAX_SECTIONS][2];
+	private final long[][] maxes = new long[MAX_SECTIONS][2];
+	private final DoublePublisher[][] outputs = new DoublePublisher[MAX_SECTIONS][];
+	private int sections = 0;
+
+	private int generation = 0;
+	private int loops = 0;
+
+	public LoopProfiler(ITelemetryTable table, int publishInterval) {
+		if (table == null)
+			throw new IllegalArgumentException("table is null");
+		if (publishInterval < 1)
+			throw new IllegalArgumentException("publishInterval is less than 1");
+		this.table = table;
+		this.publishInterval = publishInterval;
+	}
+
+	// Returns the handle to pass to begin and end.
+	public int add(String name) {
+		if (name == null)
+			throw new IllegalArgumentException("name is null");
+		if (sections == MAX_SECTIONS)
+			throw new IllegalStateException("too many sections");
+
+		int section = sections++;
+		for (int i = 0; i < 2; i++) {
+			histograms[section][i] = new long[BUCKETS];
+			mins[section][i] = Long.MAX_VALUE;
+		}
+		ITelemetryTable sub = table.getSubTable(name);
+		outputs[section] = new DoublePublisher[] {
+			sub.getDoublePublisher("min"), sub.getDoublePublisher("mean"),
+			sub.getDoublePublisher("p99"), sub.getDoublePublisher("max")
+		};
+		return section;
+	}
+
+	public void begin(int section) {
+		startTimes[section] = System.nanoTime();
+	}
+
+	public void end(int section) {
+		record(section, System.nanoTime() - startTimes[section]);
+	}
+
+	public void record(int section, long nanos) {
+		long micros = nanos / 1000;
+		int g = generation;
+		histograms[section][g][bucket(micros)]++;
+		counts[section][g]++;
+		sums[section][g] += micros;
+		if (micros < mins[section][g])
+			mins[section][g] = micros;
+		if (micros > maxes[section][g])
+			maxes[section][g] = micros;
+	}
+
+	// Called once per loop. Publishes every publishInterval loops and then retires the
+	// older generation.
+	public void tick() {
+		loops++;
+		if (loops < publishInterval)
+			return;
+		loops = 0;
+
+		for (int section = 0; section < sections; section++)
+			publish(section);
+
+		generation ^= 1;
+		for (int section = 0; section < sections; section++) {
+			Arrays.fill(histograms[section][generation], 0);
+			counts[section][generation] = 0;
+			sums[section][generation] = 0;
+			mins[section][generation] = Long.MAX_VALUE;
+			maxes[section][generation] = 0;
+		}
+	}
+
+	private void publish(int section) {
+		long count = counts[section][0] + counts[section][1];
+		if (count == 0)
+			return;
+		long min = Math.min(mins[section][0], mins[section][1]);
+		long max = Math.max(maxes[section][0], maxes[section][1]);
+		double mean = (double) (sums[section][0] + sums[section][1]) / count;
+
+		// Smallest bucket with at least 99% of samples at or below it.
+		long threshold = (count * 99 + 99) / 100;
+		long seen = 0;
+		long p99 = max;
+		for (int i = 0; i < BUCKETS; i++) {
+			seen += histograms[section][0][i] + histograms[section][1][i];
+			if (seen >= threshold) {
+				p99 = Math.min(upperBound(i), max);
+				break;
+			}
+		}
+
+		DoublePublisher[] sectionOutputs = outputs[section];
+		sectionOutputs[0].set(min / 1000d);
+		sectionOutputs[1].set(mean / 1000d);
+		sectionOutputs[2].set(p99 / 1000d);
+		sectionOutputs[3].set(max / 1000d);
+	}
+
+	// Values below SUB_BUCKETS get a bucket each, above that every power of two is split
+	// into SUB_BUCKETS equal parts.
+	private static int bucket(long micros) {
+		if (micros < SUB_BUCKETS)
+			return (int) Math.max(micros, 0);
+		int exponent = 63 - Long.numberOfLeadingZeros(micros);
+		int sub = (int) (micros >>> (exponent - 3)) & (SUB_BUCKETS - 1);
+		int bucket = (exponent - 2) * SUB_BUCKETS + sub;
+		return Math.min(bucket, BUCKETS - 1);
+	}
+
+	private static long upperBound(int bucket) {
+		if (bucket < SUB_BUCKETS)
+			return bucket;
+		int exponent = bucket / SUB_BUCKETS + 2;
+		int sub = bucket % SUB_BUCKETS;
+		return ((long) (SUB_BUCKETS + sub + 1) << (exponent - 3)) - 1;
+	}
+}
@@ -0,0 +1,43 @@
+package frc.robot.telemetry;
+
+import edu.wpi.first.networktables.NetworkTable;
+import edu.wpi.first.networktables.NetworkTableEntry;
+import edu.wpi.first.networktables.NetworkTableInstance;
+
+public class NetworkTelemetryTable implements ITelemetryTable {
+
+	private final NetworkTable table;
+
+	public NetworkTelemetryTable(String name) {
+		this(NetworkTableInstance.getDefault().getTable(name));
+	}
+
+	public NetworkTelemetryTable(NetworkTable table) {
+		if (table == null)
+			throw new IllegalArgumentException("table is null");
+		this.table = table;
+	}
+
+	@Override
+	public ITelemetryTable getSubTable(String name) {
+		return new NetworkTelemetryTable(table.getSubTable(name));
+	}
+
+	@Override
+	public DoublePublisher getDoublePublisher(String name) {
+		NetworkTableEntry entry = table.getEntry(name);
+		return value -> entry.setDouble(value);
+	}
+
+	@Override
+	public BooleanPublisher getBooleanPublisher(String name) {
+		NetworkTableEntry entry = table.getEntry(name);
+		return value -> entry.setBoolean(value);
+	}
+
+	@Override
+	public DoubleSubscriber getDoubleSubscriber(String name, double defaultValue) {
+		NetworkTableEntry entry = table.getEntry(name);
+		return () -> entry.getDouble(defaultValue);
+	}
+}
@@ -0,0 +1,127 @@
+package frc.robot.telemetry;
+
+// Publishes telemetry at a rate chosen per channel instead of every loop. Values are
+// staged into preallocated arrays as the loop runs, and flush sends the channels that are
+// due and have moved past their deadband, then pushes them out in one batch. Channels with
+// the same rate are sent on the same loops, so values that belong together, like the parts
+// of the pose, always come from one loop. Each new rate starts on a later loop, so the
+// groups don't all land on the same one.
+public class TelemetryScheduler {
+
+	public static final int MAX_CHANNELS = 64;
+
+	private final double period;
+	private final Runnable batch;
+
+	private final DoublePublisher[] doubleOutputs = new DoublePublisher[MAX_CHANNELS];
+	private final BooleanPublisher[] booleanOutputs = new BooleanPublisher[MAX_CHANNELS];
+	private final int[] intervals = new int[MAX_CHANNELS];
+	private final int[] countdowns = new int[MAX_CHANNELS];
+	private final double[] deadbands = new double[MAX_CHANNELS];
+	private final double[] staged = new double[MAX_CHANNELS];
+	private final double[] published = new double[MAX_CHANNELS];
+	private int channels = 0;
+	// Interval of each rate group, in the order they were first added.
+	private final int[] groupIntervals = new int[MAX_CHANNELS];
+	private int groups = 0;
+
+	private int publishCount = 0;
+
+	// The batch runs after any loop that published something, NetworkTableInstance.flush
+	// on the robot.
+	public TelemetryScheduler(double period, Runnable batch) {
+		if (period <= 0)
+			throw new IllegalArgumentException("period is not positive");
+		if (batch == null)
+			throw new IllegalArgumentException("batch is null");
+		this.period = period;
+		this.batch = batch;
+	}
+
+	// Rate in Hz, capped at the loop rate. Changes smaller than the deadband are not sent.
+	public int addDouble(DoublePublisher output, double rate, double deadband) {
+		if (output == null)
+			throw new IllegalArgumentException("output is null");
+		int channel = add(rate, deadband);
+		doubleOutputs[channel] = output;
+		return channel;
+	}
+
+	public int addBoolean(BooleanPublisher output, double rate) {
+		if (output == null)
+			throw new IllegalArgumentException("output is null");
+		int channel = add(rate, 0);
+		booleanOutputs[channel] = output;
+		return channel;
+	}
+
+	public void set(int channel, double value) {
+		staged[channel] = value;
+	}
+
+	public void set(int channel, boolean value) {
+		staged[channel] = value ? 1 : 0;
+	}
+
+	// True if the channel will be considered at the next flush, so values that are
+	// expensive to read only need to be read then.
+	public boolean isDue(int channel) {
+		return countdowns[channel] == 0;
+	}
+
+	// Number of values sent since the scheduler was created.
+	public int getPublishCount() {
+		return publishCount;
+	}
+
+	public void flush() {
+		boolean any = false;
+		for (int channel = 0; channel < channels; channel++) {
+			if (countdowns[channel] > 0) {
+				countdowns[channel]--;
+				continue;
+			}
+			countdowns[channel] = intervals[channel] - 1;
+
+			double value = staged[channel];
+			double last = published[channel];
+			// NaN marks a channel that has never been sent.
+			if (!Double.isNaN(last) && Math.abs(value - last) <= deadbands[channel])
+				continue;
+			if (Double.isNaN(value) && Double.isNaN(last))
+				continue;
+
+			if (doubleOutputs[channel] != null)
+				doubleOutputs[channel].set(value);
+			else
+				booleanOutputs[channel].set(value != 0);
+			published[channel] = value;
+			publishCount++;
+			any = true;
+		}
+		if (any)
+			batch.run();
+	}
+
+	private int add(double rate, double deadband) {
+		if (rate <= 0)
+			throw new IllegalArgumentException("rate is not positive");
+		if (deadband < 0)
+			throw new IllegalArgumentException("deadband is negative");
+		if (channels == MAX_CHANNELS)
+			throw new IllegalStateException("too many channels");
+
+		int channel = channels++;
+		intervals[channel] = Math.max(1, (int) Math.round(1 / (rate * period)));
+		int group = 0;
+		while (group < groups && groupIntervals[group] != intervals[channel])
+			group++;
+		if (group == groups)
+			groupIntervals[groups++] = intervals[channel];
+		countdowns[channel] = group % intervals[channel];
+		deadbands[channel] = deadband;
+		staged[channel] = Double.NaN;
+		published[channel] = Double.NaN;
+		return channel;
+	}
+}
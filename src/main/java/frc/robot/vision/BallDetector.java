@@ -0,0 +1,146 @@
+package frc.robot.vision;
+
+import org.opencv.core.Mat;
+import org.opencv.core.Point;
+import org.opencv.core.Size;
+import org.opencv.imgproc.Imgproc;
+
+// Finds the lowest ball in a frame, coarse to fine. Without a ball to follow, the pipeline
+// runs on a frame shrunk by COARSE_SCALE, and the ball it finds is then measured again at
+// full size in a window around it. Once it has a ball, only the window around the last one
+// is searched. If the ball isn't there the whole frame is searched again straight away, and
+// it is every FULL_SEARCH_INTERVAL frames anyway in case a closer ball came into view.
+//
+// The window is copied out with getRectSubPix into a Mat kept between frames, since a
+// submat would make a new Mat every frame.
+public class BallDetector {
+
+	public static final int COARSE_SCALE = 2;
+	// Pixels added around the last ball on each side, on top of its own size.
+	public static final int MARGIN = 16;
+	public static final int FULL_SEARCH_INTERVAL = 15;
+
+	private final BallPipeline pipeline;
+
+	private final Mat small = new Mat();
+	private final Size smallSize = new Size();
+	private final Mat window = new Mat();
+	private final Size windowSize = new Size();
+	private final Point windowCenter = new Point();
+
+	private boolean tracking = false;
+	private int framesTracked = 0;
+	private int x;
+	private int y;
+	private int width;
+	private int height;
+
+	private int fullSearches = 0;
+	private int windowSearches = 0;
+
+	public BallDetector(BallPipeline pipeline) {
+		if (pipeline == null)
+			throw new IllegalArgumentException("pipeline is null");
+		this.pipeline = pipeline;
+	}
+
+	// Returns whether there is a ball, with its bounding box in frame pixels.
+	public boolean detect(Mat frame) {
+		if (tracking && framesTracked < FULL_SEARCH_INTERVAL && searchWindow(frame)) {
+			framesTracked++;
+			return true;
+		}
+
+		tracking = false;
+		framesTracked = 0;
+		fullSearches++;
+		smallSize.width = frame.cols() / COARSE_SCALE;
+		smallSize.height = frame.rows() / COARSE_SCALE;
+		Imgproc.resize(frame, small, smallSize, 0, 0, Imgproc.INTER_AREA);
+		pipeline.process(small, 1.0 / COARSE_SCALE);
+		int lowest = findLowest();
+		if (lowest < 0)
+			return false;
+
+		x = pipeline.getBlobX(lowest) * COARSE_SCALE;
+		y = pipeline.getBlobY(lowest) * COARSE_SCALE;
+		width = pipeline.getBlobWidth(lowest) * COARSE_SCALE;
+		height = pipeline.getBlobHeight(lowest) * COARSE_SCALE;
+		// Falls back to the coarse box if the full size pass loses it.
+		tracking = true;
+		searchWindow(frame);
+		return true;
+	}
+
+	public void reset() {
+		tracking = false;
+	}
+
+	public int getX() {
+		return x;
+	}
+
+	public int getY() {
+		return y;
+	}
+
+	public int getWidth() {
+		return width;
+	}
+
+	public int getHeight() {
+		return height;
+	}
+
+	// Frames the whole frame was searched, and frames only a window was.
+	public int getFullSearches() {
+		return fullSearches;
+	}
+
+	public int getWindowSearches() {
+		return windowSearches;
+	}
+
+	public void release() {
+		small.release();
+		window.release();
+		pipeline.release();
+	}
+
+	private boolean searchWindow(Mat frame) {
+		windowSearches++;
+		int margin = Math.max(width, height) / 2 + MARGIN;
+		int left = Math.max(x - margin, 0);
+		int top = Math.max(y - margin, 0);
+		int right = Math.min(x + width + margin, frame.cols());
+		int bottom = Math.min(y + height + margin, frame.rows());
+		if (right <= left || bottom <= top)
+			return false;
+
+		// The window's top left lands exactly on a pixel, so this is a plain copy.
+		windowSize.width = right - left;
+		windowSize.height = bottom - top;
+		windowCenter.x = left + (windowSize.width - 1) / 2;
+		windowCenter.y = top + (windowSize.height - 1) / 2;
+		Imgproc.getRectSubPix(frame, windowSize, windowCenter, window);
+		pipeline.process(window);
+		int lowest = findLowest();
+		if (lowest < 0)
+			return false;
+
+		x = left + pipeline.getBlobX(lowest);
+		y = top + pipeline.getBlobY(lowest);
+		width = pipeline.getBlobWidth(lowest);
+		height = pipeline.getBlobHeight(lowest);
+		return true;
+	}
+
+	private int findLowest() {
+		int lowest = -1;
+		for (int i = 0; i < pipeline.getBlobCount(); i++) {
+			if (lowest < 0 || pipeline.getBlobY(i) > pipeline.getBlobY(lowest))
+				lowest = i;
+		}
+		return lowest;
+	}
+}
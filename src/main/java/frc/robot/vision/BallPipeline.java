@@ -0,0 +1,227 @@
+package frc.robot.vision;
+
+import org.opencv.core.Core;
+import org.opencv.core.CvType;
+import org.opencv.core.Mat;
+import org.opencv.core.Scalar;
+import org.opencv.core.Size;
+import org.opencv.imgproc.Imgproc;
+
+// Finds balls of one colour in a camera frame: blur, threshold in HSV, then pick out the
+// blobs big and solid enough to be a ball. Every Mat and buffer is kept from one frame to
+// the next, so once the frame size settles a frame is processed without allocating.
+//
+// Blobs come from connected components rather than contours, since the OpenCV Java
+// contour calls build a new MatOfPoint per contour every frame. Areas are pixel counts,
+// and solidity is the pixel count over the area of the convex hull of the pixels.
+public abstract class BallPipeline {
+
+	public static final int MAX_BLOBS = 16;
+	public static final int BLUR_SIZE = 7;
+
+	private final double minArea;
+	private final double minSolidity;
+	private double scale = 1;
+
+	private final Size blurSize = new Size(BLUR_SIZE, BLUR_SIZE);
+	private final Mat blurred = new Mat();
+	private final Mat mask = new Mat();
+	private final Mat labels = new Mat();
+	private final Mat stats = new Mat();
+	private final Mat centroids = new Mat();
+	private final int[] stat = new int[Imgproc.CC_STAT_MAX];
+
+	// Labels copied out of the Mat, and the hull of one blob at a time. Sized for the frame.
+	private int[] labelBuffer = new int[0];
+	private int[] left = new int[0];
+	private int[] right = new int[0];
+	private int[] hullX = new int[0];
+	private int[] hullY = new int[0];
+	private boolean labelsCopied;
+
+	private int blobCount = 0;
+	private final int[] blobX = new int[MAX_BLOBS];
+	private final int[] blobY = new int[MAX_BLOBS];
+	private final int[] blobWidth = new int[MAX_BLOBS];
+	private final int[] blobHeight = new int[MAX_BLOBS];
+	private final int[] blobArea = new int[MAX_BLOBS];
+
+	static {
+		System.loadLibrary(Core.NATIVE_LIBRARY_NAME);
+	}
+
+	// Solidity is a fraction, zero to not check it.
+	protected BallPipeline(double minArea, double minSolidity) {
+		this.minArea = minArea;
+		this.minSolidity = minSolidity;
+	}
+
+	public void process(Mat frame) {
+		process(frame, 1);
+	}
+
+	// Scale is the frame's size against the camera's, so the blur and minimum area can be
+	// matched to a downscaled frame.
+	public void process(Mat frame, double scale) {
+		this.scale = scale;
+		blurSize.width = Math.max(1, Math.round(BLUR_SIZE * scale));
+		blurSize.height = blurSize.width;
+		Imgproc.blur(frame, blurred, blurSize);
+		threshold(blurred, mask);
+		findBlobs();
+	}
+
+	// Writes a single channel mask of the ball colour in the blurred BGR image to output.
+	protected abstract void threshold(Mat image, Mat output);
+
+	// Converts to HSV in output and keeps the pixels between low and high, inclusive.
+	protected static void hsvThreshold(Mat image, Scalar low, Scalar high, Mat output) {
+		Imgproc.cvtColor(image, output, Imgproc.COLOR_BGR2HSV);
+		Core.inRange(output, low, high, output);
+	}
+
+	public int getBlobCount() {
+		return blobCount;
+	}
+
+	// Bounding box of a blob in frame pixels.
+	public int getBlobX(int blob) {
+		return blobX[blob];
+	}
+
+	public int getBlobY(int blob) {
+		return blobY[blob];
+	}
+
+	public int getBlobWidth(int blob) {
+		return blobWidth[blob];
+	}
+
+	public int getBlobHeight(int blob) {
+		return blobHeight[blob];
+	}
+
+	public int getBlobArea(int blob) {
+		return blobArea[blob];
+	}
+
+	public Mat getMask() {
+		return mask;
+	}
+
+	// Frees the native memory now rather than whenever the Mats are finalized.
+	public void release() {
+		blurred.release();
+		mask.release();
+		labels.release();
+		stats.release();
+		centroids.release();
+	}
+
+	private void findBlobs() {
+		blobCount = 0;
+		labelsCopied = false;
+		int count = Imgproc.connectedComponentsWithStats(mask, labels, stats, centroids, 8, CvType.CV_32S);
+		// Label 0 is the background.
+		for (int label = 1; label < count && blobCount < MAX_BLOBS; label++) {
+			stats.get(label, 0, stat);
+			int area = stat[Imgproc.CC_STAT_AREA];
+			if (area < minArea * scale * scale)
+				continue;
+			if (minSolidity > 0 && area < minSolidity * hullArea(label))
+				continue;
+			blobX[blobCount] = stat[Imgproc.CC_STAT_LEFT];
+			blobY[blobCount] = stat[Imgproc.CC_STAT_TOP];
+			blobWidth[blobCount] = stat[Imgproc.CC_STAT_WIDTH];
+			blobHeight[blobCount] = stat[Imgproc.CC_STAT_HEIGHT];
+			blobArea[blobCount] = area;
+			blobCount++;
+		}
+	}
+
+	// Area of the convex hull of the label's pixels, as squares. The blob is connected so
+	// every row of its box has a pixel, and the hull only depends on the outermost corner
+	// on each side of each row edge, so two chains of those are enough.
+	private double hullArea(int label) {
+		if (!labelsCopied) {
+			int size = labels.rows() * labels.cols();
+			if (labelBuffer.length != size)
+				labelBuffer = new int[size];
+			labels.get(0, 0, labelBuffer);
+			labelsCopied = true;
+		}
+
+		int columns = labels.cols();
+		int x = stat[Imgproc.CC_STAT_LEFT];
+		int y = stat[Imgproc.CC_STAT_TOP];
+		int width = stat[Imgproc.CC_STAT_WIDTH];
+		int height = stat[Imgproc.CC_STAT_HEIGHT];
+		if (left.length < height + 1) {
+			left = new int[height + 1];
+			right = new int[height + 1];
+			hullX = new int[2 * height + 2];
+			hullY = new int[2 * height + 2];
+		}
+
+		for (int row = 0; row <= height; row++) {
+			left[row] = Integer.MAX_VALUE;
+			right[row] = Integer.MIN_VALUE;
+		}
+		for (int row = 0; row < height; row++) {
+			int offset = (y + row) * columns;
+			int min = x + width;
+			int max = x - 1;
+			for (int column = x; column < x + width; column++) {
+				if (labelBuffer[offset + column] == label) {
+					min = Math.min(min, column);
+					max = column;
+				}
+			}
+			// The row's pixels span min to max + 1, on the edges above and below it.
+			left[row] = Math.min(left[row], min);
+			left[row + 1] = Math.min(left[row + 1], min);
+			right[row] = Math.max(right[row], max + 1);
+			right[row + 1] = Math.max(right[row + 1], max + 1);
+		}
+
+		return hullArea(left, right, height, hullX, hullY);
+	}
+
+	// Hull of the points (left[i], i) and (right[i], i), going down the left side and back
+	// up the right, kept convex as each point is added.
+	static double hullArea(int[] left, int[] right, int height, int[] hullX, int[] hullY) {
+		int size = 0;
+		for (int i = 0; i <= height; i++) {
+			while (size >= 2 && cross(hullX, hullY, size, left[i], i) >= 0)
+				size--;
+			hullX[size] = left[i];
+			hullY[size] = i;
+			size++;
+		}
+		int bottom = size;
+		for (int i = height; i >= 0; i--) {
+			while (size > bottom && cross(hullX, hullY, size, right[i], i) >= 0)
+				size--;
+			hullX[size] = right[i];
+			hullY[size] = i;
+			size++;
+		}
+
+		long area = 0;
+		for (int i = 0; i < size; i++) {
+			int next = i + 1 == size ? 0 : i + 1;
+			area += (long) hullX[i] * hullY[next] - (long) hullX[next] * hullY[i];
+		}
+		return Math.abs(area) / 2.0;
+	}
+
+	// Turn from the last two hull points to the new one. Anything but negative means the
+	// last point is inside the hull.
+	private static long cross(int[] hullX, int[] hullY, int size, int x, int y) {
+		long ax = hullX[size - 1] - hullX[size - 2];
+		long ay = hullY[size - 1] - hullY[size - 2];
+		long bx = x - hullX[size - 1];
+		long by = y - hullY[size - 1];
+		return ax * by - ay * bx;
+	}
+}
@@ -1,51 +1,77 @@
 package frc.robot.vision;
 
-import java.util.ArrayList;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
 
 import com.ctre.phoenix.motorcontrol.can.SlotConfiguration;
 
 import org.opencv.core.Mat;
-import org.opencv.core.MatOfPoint;
-import org.opencv.core.Rect;
-import org.opencv.imgproc.Imgproc;
 
-import edu.wpi.first.cscore.CvSink;
-import edu.wpi.first.cscore.VideoSource;
 import edu.wpi.first.wpilibj.DriverStation.Alliance;
+import frc.robot.LoopClock;
 import frc.robot.Subsystem;
 import frc.robot.config.BallVisionConfig;
+import frc.robot.io.IFrameSource;
 
-public class BallVision implements Subsystem {
+// Steers onto the nearest ball of our colour. The camera thread publishes each frame's
+// result through a seqlock slot, and tick picks up the latest once per loop. The PID only
+// steps when there is a new frame, over the time between the frames, so the derivative
+// isn't run on the same error twice.
+//
+// The thread only runs while something has asked for ball tracking, and otherwise waits
+// with the camera sink disabled. While running it paces itself to the configured frame
+// rate and waits on frames with a timeout, so a camera that errors or stops sending can't
+// have it spinning on a core the control loop needs.
+public class BallVision implements Subsystem, IBallVision {
+
+	public static final int CENTER_X = 160;
+	// How often the thread works out its CPU usage.
+	public static final double CPU_WINDOW = 1;
 
 	private final BallVisionThread thread;
-	private final Object lock = new Object();
+	private final BallVisionSlot slot = new BallVisionSlot();
+	private final BallVisionResult latest = new BallVisionResult();
 
-	private boolean hasTarget = false;
-	private double error;
+	private final IFrameSource input;
+	private final BallDetector red;
+	private final BallDetector blue;
 
-	private final CvSink input;
-	private final RedBallPipeline red;
-	private final BlueBallPipeline blue;
+	private volatile Alliance alliance = Alliance.Red;
+	private volatile boolean active = false;
+	private double activeTime = 0;
+	private final Object activeLock = new Object();
+	private volatile double period;
+	private volatile double grabTimeout;
 
-	private Alliance alliance = Alliance.Red;
+	// Only written by the thread.
+	private volatile long grabErrors = 0;
+	private volatile long missedFrames = 0;
+	private volatile double cpuUsage = 0;
 
 	private SlotConfiguration pid;
-	private long lastTime;
+	private final LoopClock clock;
+	private long lastSequence = 0;
+	private long lastFrameTime = 0;
+	private boolean newFrame = false;
+	private double correction = 0;
 	private double iacc = 0;
 	private double lastErr = 0;
 
-	public BallVision(VideoSource input, RedBallPipeline red, BlueBallPipeline blue, BallVisionConfig config) {
+	public BallVision(IFrameSource input, BallPipeline red, BallPipeline blue, LoopClock clock,
+						BallVisionConfig config) {
 		if (input == null)
 			throw new IllegalArgumentException("input is null");
 		if (red == null)
 			throw new IllegalArgumentException("red is null");
 		if (blue == null)
 			throw new IllegalArgumentException("blue is null");
-		this.input = new CvSink("Auton CvSink");
-		this.red = red;
-		this.blue = blue;
+		if (clock == null)
+			throw new IllegalArgumentException("clock is null");
+		this.input = input;
+		this.red = new BallDetector(red);
+		this.blue = new BallDetector(blue);
+		this.clock = clock;
 
-		this.input.setSource(input);
 		configure(config);
 
 		thread = new BallVisionThread();
@@ -53,26 +79,47 @@ public class BallVision implements Subsystem {
 	}
 
 	public void setAlliance(Alliance alliance) {
-		synchronized (lock) {
-			this.alliance = alliance;
-		}
+		this.alliance = alliance;
 	}
 
-	public boolean hasTarget() {
-		synchronized (lock) {
-			return hasTarget;
+	@Override
+	public void setActive(boolean active) {
+		if (active == this.active)
+			return;
+		if (active)
+			activeTime = clock.getNow();
+		synchronized (activeLock) {
+			this.active = active;
+			activeLock.notifyAll();
 		}
 	}
 
-	public double getCorrection() {
-		long currentTime = System.currentTimeMillis();
-		double timeDeltaSeconds = (currentTime - lastTime) / 1000d;
-		lastTime = currentTime;
+	public boolean isActive() {
+		return active;
+	}
+
+	@Override
+	public void tick() {
+		slot.read(latest);
+		newFrame = latest.sequence != lastSequence;
+		lastSequence = latest.sequence;
+		if (!newFrame)
+			return;
 
-		double error;
-		synchronized (lock) {
-			error = this.error;
+		if (!latest.hasTarget) {
+			correction = 0;
+			iacc = 0;
+			lastErr = 0;
+			lastFrameTime = latest.frameTime;
+			return;
 		}
+
+		double timeDeltaSeconds = (latest.frameTime - lastFrameTime) / 1e6;
+		if (lastFrameTime == 0 || timeDeltaSeconds <= 0)
+			timeDeltaSeconds = clock.getDelta();
+		lastFrameTime = latest.frameTime;
+
+		double error = latest.x + latest.width / 2 - CENTER_X;
 		if (Math.abs(error) <= pid.integralZone) {
 			iacc += error * timeDeltaSeconds;
 			if (Math.abs(iacc) > pid.maxIntegralAccumulator)
@@ -80,15 +127,81 @@ public class BallVision implements Subsystem {
 		}
 		else
 			iacc = 0;
-		double output = error * pid.kP + iacc * pid.kI + (error - lastErr) / timeDeltaSeconds * pid.kD;
+		correction = error * pid.kP + iacc * pid.kI + (error - lastErr) / timeDeltaSeconds * pid.kD;
 		lastErr = error;
-		return output;
+	}
+
+	@Override
+	public boolean hasTarget() {
+		return active && latest.hasTarget;
+	}
+
+	// Frames from before the camera was last switched on don't count, so the time the
+	// camera and pipeline take to warm up can be told apart from losing the ball.
+	@Override
+	public boolean hasFrame() {
+		return active && latest.sequence != 0 && latest.grabTime >= activeTime;
+	}
+
+	@Override
+	public double getCorrection() {
+		return correction;
+	}
+
+	// Seconds since the latest frame was grabbed, which is how stale the correction is.
+	@Override
+	public double getAge() {
+		if (latest.sequence == 0)
+			return Double.POSITIVE_INFINITY;
+		return clock.getNow() - latest.grabTime;
+	}
+
+	// Whether this loop picked up a frame the last one didn't have.
+	public boolean isNewFrame() {
+		return newFrame;
+	}
+
+	public BallVisionResult getLatest() {
+		return latest;
+	}
+
+	// Frames processed since the robot started.
+	public long getFrames() {
+		return latest.sequence;
+	}
+
+	// Frames that came back empty, from a camera error or the grab timing out.
+	public long getGrabErrors() {
+		return grabErrors;
+	}
+
+	// Frame slots skipped because processing a frame took longer than the frame period.
+	public long getMissedFrames() {
+		return missedFrames;
+	}
+
+	// Fraction of one core the thread used over the last CPU_WINDOW.
+	public double getCpuUsage() {
+		return cpuUsage;
+	}
+
+	// Stops the thread and waits for it, which frees the frame and pipeline native memory.
+	public void close() {
+		thread.interrupt();
+		try {
+			thread.join();
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
 	}
 
 	public void configure(BallVisionConfig config) {
+		if (!(config.fps > 0))
+			throw new IllegalArgumentException("fps is not positive");
 		pid = config.pid;
+		period = 1 / config.fps;
+		grabTimeout = config.grabTimeout;
 
-		lastTime = System.currentTimeMillis();
 		iacc = 0;
 		lastErr = 0;
 	}
@@ -102,38 +215,83 @@ public class BallVision implements Subsystem {
 		@Override
 		public void run() {
 			Mat mat = new Mat();
+			BallVisionResult result = new BallVisionResult();
+			ThreadMXBean threads = ManagementFactory.getThreadMXBean();
 			Alliance localAlliance = alliance;
-			while (!isInterrupted()) {
-				Rect lowestRect = null;
-				long result = input.grabFrame(mat);
-				if (result != 0) {
-					ArrayList<MatOfPoint> list;
-					if (localAlliance == Alliance.Red) {
-						red.process(mat);
-						list = red.filterContoursOutput();
-					} else {
-						blue.process(mat);
-						list = blue.filterContoursOutput();
-					}
-					if (!list.isEmpty()) {
-						for (MatOfPoint contour : list) {
-							Rect rect = Imgproc.boundingRect(contour);
-							if (lowestRect == null || rect.y > lowestRect.y)
-								lowestRect = rect;
+			long next = 0;
+			long windowStart = System.nanoTime();
+			long windowCpu = threads.getCurrentThreadCpuTime();
+			try {
+				while (!isInterrupted()) {
+					if (!active) {
+						input.setEnabled(false);
+						cpuUsage = 0;
+						synchronized (activeLock) {
+							while (!active)
+								activeLock.wait();
 						}
+						input.setEnabled(true);
+						red.reset();
+						blue.reset();
+						next = System.nanoTime();
+						windowStart = next;
+						windowCpu = threads.getCurrentThreadCpuTime();
 					}
-				}
-				synchronized (lock) {
-					if (lowestRect != null) {
-						hasTarget = true;
-						error = lowestRect.x + lowestRect.width / 2 - 160;
+
+					BallDetector detector = localAlliance == Alliance.Red ? red : blue;
+					long frameTime = input.grabFrame(mat, grabTimeout);
+					double grabTime = clock.getNow();
+					if (frameTime != 0) {
+						boolean found = detector.detect(mat);
+						result.sequence++;
+						result.frameTime = frameTime;
+						result.grabTime = grabTime;
+						result.latency = clock.getNow() - grabTime;
+						result.hasTarget = found;
+						result.x = found ? detector.getX() : 0;
+						result.y = found ? detector.getY() : 0;
+						result.width = found ? detector.getWidth() : 0;
+						result.height = found ? detector.getHeight() : 0;
+						slot.write(result);
 					} else {
-						hasTarget = false;
-						error = 0;
+						// Nothing is published, so the age of the last frame keeps growing.
+						grabErrors++;
 					}
+
+					if (alliance != localAlliance)
+						detector.reset();
 					localAlliance = alliance;
+
+					// Waits out the rest of the frame period, which also keeps a camera that
+					// errors straight away from being retried in a tight loop.
+					long periodNanos = (long) (period * 1e9);
+					long now = System.nanoTime();
+					next += periodNanos;
+					if (now > next) {
+						// A grab that timed out is already counted as an error.
+						if (frameTime != 0)
+							missedFrames += (now - next) / periodNanos;
+						next = now;
+					} else {
+						long wait = next - now;
+						Thread.sleep(wait / 1000000, (int) (wait % 1000000));
+					}
+
+					now = System.nanoTime();
+					if (now - windowStart >= CPU_WINDOW * 1e9) {
+						long cpu = threads.getCurrentThreadCpuTime();
+						cpuUsage = (double) (cpu - windowCpu) / (now - windowStart);
+						windowStart = now;
+						windowCpu = cpu;
+					}
 				}
+			} catch (InterruptedException e) {
+				// Shutting down.
 			}
+			input.setEnabled(false);
+			mat.release();
+			red.release();
+			blue.release();
 		}
 	}
 }
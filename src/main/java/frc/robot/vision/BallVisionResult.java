@@ -0,0 +1,33 @@
+package frc.robot.vision;
+
+// What the ball camera thread found in one frame.
+public class BallVisionResult {
+
+	// Counts up by one for every frame processed, zero before the first.
+	public long sequence;
+	// Frame time from the frame source, in microseconds.
+	public long frameTime;
+	// Loop clock time when the frame was grabbed, for working out how old it is.
+	public double grabTime;
+	// Seconds from grabbing the frame to the result being ready.
+	public double latency;
+
+	public boolean hasTarget;
+	// Bounding box of the ball in frame pixels.
+	public int x;
+	public int y;
+	public int width;
+	public int height;
+
+	public void copyFrom(BallVisionResult other) {
+		sequence = other.sequence;
+		frameTime = other.frameTime;
+		grabTime = other.grabTime;
+		latency = other.latency;
+		hasTarget = other.hasTarget;
+		x = other.x;
+		y = other.y;
+		width = other.width;
+		height = other.height;
+	}
+}
@@ -0,0 +1,36 @@
+package frc.robot.vision;
+
+import java.lang.invoke.VarHandle;
+
+// Passes the latest result from one writer thread to one reader thread without a lock, as
+// a seqlock. The version is odd while a write is in progress, so a reader that sees it odd,
+// or sees it change while copying, copies again. The writer never waits, and a frame only
+// takes a few field copies, so the reader hardly ever has to.
+public class BallVisionSlot {
+
+	private final BallVisionResult result = new BallVisionResult();
+	private volatile int version = 0;
+
+	public void write(BallVisionResult value) {
+		int start = version;
+		version = start + 1;
+		// Keeps the field writes below from moving above the odd version.
+		VarHandle.storeStoreFence();
+		result.copyFrom(value);
+		version = start + 2;
+	}
+
+	public void read(BallVisionResult value) {
+		while (true) {
+			int start = version;
+			if ((start & 1) == 0) {
+				value.copyFrom(result);
+				// Keeps the field reads above from moving below the second version read.
+				VarHandle.loadLoadFence();
+				if (version == start)
+					return;
+			}
+			Thread.onSpinWait();
+		}
+	}
+}
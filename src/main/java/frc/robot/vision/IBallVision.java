@@ -0,0 +1,18 @@
+package frc.robot.vision;
+
+public interface IBallVision {
+
+	// Tracking is only done while something has asked for it.
+	public void setActive(boolean active);
+
+	public boolean hasTarget();
+
+	// Whether a frame taken since tracking was last switched on has come in yet.
+	public boolean hasFrame();
+
+	// Strafe output that centres the ball.
+	public double getCorrection();
+
+	// Seconds since the frame the target and correction come from was taken.
+	public double getAge();
+}